@@ -1,14 +1,18 @@
 package org.example.loggingmaskingstarter.actuator;
 
 import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+import org.example.loggingmaskingstarter.core.MaskingRuleRegistry;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.ApplicationContext;
-import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
-import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import java.util.Map;
@@ -16,8 +20,10 @@ import java.util.Objects;
 
 /**
  * Класс для управления настройками логирования и маскирования через Actuator Endpoints.
+ * Регистрирует эндпоинты независимо от {@code endpoint.logging.active}, чтобы логирование можно было включить во время работы.
  */
-@Configuration(proxyBeanMethods = false)
+@AutoConfiguration
+@ConditionalOnClass(Endpoint.class)
 @EnableConfigurationProperties(EndpointLoggingProperties.class)
 public class LoggingManagementEndpoint {
 
@@ -35,6 +41,26 @@ public class LoggingManagementEndpoint {
         this.properties = properties;
     }
 
+    /**
+     * Создает эндпоинт управления конфигурацией маскирования
+     * @return MaskingEndpoint
+     */
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = MaskingEndpoint.class)
+    public MaskingEndpoint maskingEndpoint() {
+        return new MaskingEndpoint(context);
+    }
+
+    /**
+     * Создает эндпоинт управления статусом логирования и режимом отладки
+     * @return ActiveEndpoint
+     */
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = ActiveEndpoint.class)
+    public ActiveEndpoint activeEndpoint() {
+        return new ActiveEndpoint(context);
+    }
+
     /**
      * Класс для управления конфигурацией маскирования через Actuator Endpoint
      */
@@ -75,6 +101,9 @@ public class LoggingManagementEndpoint {
                     .orElse(context.getBean(EndpointLoggingProperties.class))
                     .maskingRules();
             EndpointLoggingProperties properties = context.getBean(EndpointLoggingProperties.class);
+            if (Objects.nonNull(maskingEnabled) || Objects.nonNull(maskingRules)) {
+                context.getBeanProvider(MaskingRuleRegistry.class).ifAvailable(registry -> registry.update(maskingEnabled, maskingRules));
+            }
             if (Objects.nonNull(maskingEnabled)) {
                 properties.maskingEnabled(maskingEnabled);
             }
@@ -103,27 +132,34 @@ public class LoggingManagementEndpoint {
         }
 
         /**
-         * Возвращает статус логирования.
+         * Возвращает статус логирования и ручного режима отладки.
          *
-         * @return boolean
+         * @return Map со статусами active и debug.
          */
         @ReadOperation
-        public boolean getActiveConfiguration() {
-            return context.getBean(EndpointLoggingProperties.class).active();
+        public Map<String, Boolean> getActiveConfiguration() {
+            EndpointLoggingProperties properties = context.getBean(EndpointLoggingProperties.class);
+            return Map.of("active", properties.active(), "debug", properties.debug());
         }
 
         /**
-         * Устанавливает статус логирования.
+         * Устанавливает статус логирования и ручной режим отладки.
          *
          * @param active статус, указывающий, должно ли логирование быть активно или нет.
+         * @param debug статус режима отладки: в режиме tailLogging все запросы логируются полностью.
          * @return Обновленный статус активности логирования
          */
         @WriteOperation
-        public boolean setActiveConfiguration(@NonNull Boolean active) {
-            Assert.notNull(active, "Значение не может быть null");
-            Binder.get(context.getEnvironment()).bind("endpoint.logging", EndpointLoggingProperties.class)
-                    .orElse(context.getBean(EndpointLoggingProperties.class))
-                    .active(active);
+        public boolean setActiveConfiguration(@Nullable Boolean active, @Nullable Boolean debug) {
+            Assert.isTrue(Objects.nonNull(active) || Objects.nonNull(debug), "Значение не может быть null");
+            if (Objects.nonNull(active)) {
+                Binder.get(context.getEnvironment()).bind("endpoint.logging", EndpointLoggingProperties.class)
+                        .orElse(context.getBean(EndpointLoggingProperties.class))
+                        .active(active);
+            }
+            if (Objects.nonNull(debug)) {
+                context.getBean(EndpointLoggingProperties.class).debug(debug);
+            }
             return context.getBean(EndpointLoggingProperties.class).active();
         }
     }
@@ -4,6 +4,7 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -13,14 +14,38 @@ import java.util.Map;
 @Validated
 public class EndpointLoggingProperties {
 
+    @Setter
     private boolean active = false;
+    @Setter
     private boolean maskingEnabled = false;
 
     @Setter
     private int requestBodySizeLimit = 1024;
     @Setter
     private int responseBodySizeLimit = 1024;
+    @Setter
+    private boolean typedBodyLogging = false;
+    @Setter
+    private long slowRequestThresholdMs = 1000;
+    @Setter
+    private FastRequestLogging fastRequestLogging = FastRequestLogging.FULL;
+    @Setter
+    private boolean tailLogging = false;
+    @Setter
+    private int tailBufferSize = 32;
+    private volatile boolean debug = false;
+    @Setter
+    private long aggregationWindowMs = 0;
+    @Setter
+    private String configSourceFile;
+    @Setter
+    private long configSourcePollMs = 2000;
+    @Setter
+    private String configSourceKafkaTopic;
+    @Setter
+    private List<String> logMaskingMarkers = List.of("password", "token", "secret", "authorization");
 
+    @Setter
     private Map<String, MaskingConfig> maskingRules;
 
     /**
@@ -74,6 +99,104 @@ public class EndpointLoggingProperties {
         return responseBodySizeLimit;
     }
 
+    /**
+     * Возвращает статус логирования типизированных тел (возвращаемого значения и {@code @RequestBody}).
+     * @return boolean
+     */
+    public boolean typedBodyLogging() {
+        return typedBodyLogging;
+    }
+
+    /**
+     * Возвращает порог медленного запроса в миллисекундах.
+     * @return long
+     */
+    public long slowRequestThresholdMs() {
+        return slowRequestThresholdMs;
+    }
+
+    /**
+     * Возвращает режим логирования быстрых запросов.
+     * @return FastRequestLogging
+     */
+    public FastRequestLogging fastRequestLogging() {
+        return fastRequestLogging;
+    }
+
+    /**
+     * Возвращает статус режима, при котором полностью логируются только медленные и неуспешные запросы.
+     * @return boolean
+     */
+    public boolean tailLogging() {
+        return tailLogging;
+    }
+
+    /**
+     * Возвращает количество записей на одну полосу снимка недавнего трафика в режиме tailLogging.
+     * @return int
+     */
+    public int tailBufferSize() {
+        return tailBufferSize;
+    }
+
+    /**
+     * Возвращает статус ручного режима отладки (полное логирование всех запросов в режиме tailLogging).
+     * @return boolean
+     */
+    public boolean debug() {
+        return debug;
+    }
+
+    /**
+     * Устанавливает статус ручного режима отладки.
+     * @param debug статус.
+     * @return EndpointLoggingProperties
+     */
+    public EndpointLoggingProperties debug(boolean debug) {
+        this.debug = debug;
+        return this;
+    }
+
+    /**
+     * Возвращает окно агрегации повторяющихся записей в миллисекундах (0 - агрегация выключена).
+     * @return long
+     */
+    public long aggregationWindowMs() {
+        return aggregationWindowMs;
+    }
+
+    /**
+     * Возвращает путь к JSON-файлу с конфигурацией маскировки, общей для всех узлов.
+     * @return String
+     */
+    public String configSourceFile() {
+        return configSourceFile;
+    }
+
+    /**
+     * Возвращает интервал периодической проверки файла конфигурации в миллисекундах.
+     * @return long
+     */
+    public long configSourcePollMs() {
+        return configSourcePollMs;
+    }
+
+    /**
+     * Возвращает компактифицируемый топик Kafka с конфигурацией маскировки, общей для всех узлов.
+     * @return String
+     */
+    public String configSourceKafkaTopic() {
+        return configSourceKafkaTopic;
+    }
+
+    /**
+     * Возвращает маркеры чувствительных ключей: сообщения лога без цифр и без этих маркеров не маскируются.
+     * @return List
+     */
+    public List<String> logMaskingMarkers() {
+        return logMaskingMarkers;
+    }
+
     /**
      * Возвращает мапу правил маскировки.
      * @return Map
@@ -92,11 +215,31 @@ public class EndpointLoggingProperties {
         return this;
     }
 
+    /**
+     * Режим логирования запросов, выполненных быстрее порога {@code slowRequestThresholdMs}.
+     * Медленные запросы всегда логируются полностью с уровнем WARN.
+     */
+    public enum FastRequestLogging {
+        /**
+         * Полный лог с заголовками и телами.
+         */
+        FULL,
+        /**
+         * Одна строка: метод, URI, статус и время выполнения.
+         */
+        SUMMARY,
+        /**
+         * Не логировать.
+         */
+        NONE
+    }
+
     /**
      * Вложенный класс для представления настроек маскировки.
      */
     public static class MaskingConfig {
         private String maskingType;
+        private String pattern;
 
         /**
          * Возвращает тип маскировки.
@@ -112,6 +255,21 @@ public class EndpointLoggingProperties {
         public void setMaskingType(String maskingType) {
             this.maskingType = maskingType;
         }
+
+        /**
+         * Возвращает регулярное выражение для маскировки (используется, например, RegexMasker).
+         * @return String
+         */
+        public String pattern() {
+            return pattern;
+        }
+        /**
+         * Устанавливает регулярное выражение для маскировки.
+         * @param pattern регулярное выражение.
+         */
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
     }
 
 }
@@ -1,17 +1,46 @@
 package org.example.loggingmaskingstarter.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.example.loggingmaskingstarter.core.BodyCaptureFilter;
+import org.example.loggingmaskingstarter.core.LogAggregator;
 import org.example.loggingmaskingstarter.core.LoggingInterceptor;
+import org.example.loggingmaskingstarter.core.LoggingMetrics;
+import org.example.loggingmaskingstarter.core.MaskedBodySerializer;
 import org.example.loggingmaskingstarter.core.Masker;
+import org.example.loggingmaskingstarter.core.MaskingRuleRegistry;
+import org.example.loggingmaskingstarter.core.MicrometerTraceContextSupplier;
+import org.example.loggingmaskingstarter.core.RegexMasker;
+import org.example.loggingmaskingstarter.core.StarterMasker;
+import org.example.loggingmaskingstarter.core.TailLogBuffer;
+import org.example.loggingmaskingstarter.core.TraceContextResolver;
+import org.example.loggingmaskingstarter.kafka.KafkaMaskingConfigSource;
+import org.example.loggingmaskingstarter.logging.LogMessageMasking;
+import org.example.loggingmaskingstarter.sync.FileMaskingConfigSource;
+import org.example.loggingmaskingstarter.sync.MaskingConfigSource;
+import org.example.loggingmaskingstarter.sync.MaskingConfigSynchronizer;
+import org.example.loggingmaskingstarter.core.TypedBodyCaptureAdvice;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -19,21 +48,124 @@ import java.util.stream.Collectors;
 /**
  * Автоконфигурация для включения логирования и маскирования.
  */
-@AutoConfiguration
+@AutoConfiguration(afterName = {
+        "org.springframework.boot.actuate.autoconfigure.tracing.BraveAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.tracing.OpenTelemetryTracingAutoConfiguration"})
 @EnableConfigurationProperties(EndpointLoggingProperties.class)
 @ConditionalOnProperty(prefix = "endpoint.logging", value = "active", havingValue = "true")
 public class LoggingAutoConfiguration {
     /**
      * Создает бин LoggingInterceptor
      * @param properties настройки
-     * @param maskers мапа всех маскировщиков
+     * @param maskingRuleRegistry реестр скомпилированных правил маскировки
      * @param objectMapper обьект для сериализации json
+     * @param maskedBodySerializer сериализатор типизированных тел
+     * @param loggingMetrics гистограммы задержек запросов
+     * @param traceContextResolver определитель контекста трассировки
+     * @param tailLogBuffer снимок недавнего трафика
+     * @param logAggregator агрегатор повторяющихся записей
      * @return LoggingInterceptor
      */
     @Bean
     @ConditionalOnExpression("${endpoint.logging.active:false}")
-    public LoggingInterceptor loggingInterceptor(EndpointLoggingProperties properties, Map<String, Masker> maskers, ObjectMapper objectMapper) {
-        return new LoggingInterceptor(properties, maskers, objectMapper);
+    public LoggingInterceptor loggingInterceptor(EndpointLoggingProperties properties, MaskingRuleRegistry maskingRuleRegistry, ObjectMapper objectMapper,
+                                                 MaskedBodySerializer maskedBodySerializer, LoggingMetrics loggingMetrics,
+                                                 TraceContextResolver traceContextResolver, TailLogBuffer tailLogBuffer,
+                                                 LogAggregator logAggregator) {
+        return new LoggingInterceptor(properties, maskingRuleRegistry, objectMapper, maskedBodySerializer, loggingMetrics,
+                traceContextResolver, tailLogBuffer, logAggregator);
+    }
+
+    /**
+     * Создает агрегатор повторяющихся записей HTTP и Kafka
+     * @param properties настройки
+     * @return LogAggregator
+     */
+    @Bean
+    public LogAggregator logAggregator(EndpointLoggingProperties properties) {
+        return new LogAggregator(properties.aggregationWindowMs());
+    }
+
+    /**
+     * Создает снимок недавнего трафика для режима tailLogging
+     * @param properties настройки
+     * @return TailLogBuffer
+     */
+    @Bean
+    public TailLogBuffer tailLogBuffer(EndpointLoggingProperties properties) {
+        return new TailLogBuffer(properties.tailLogging() ? properties.tailBufferSize() : 0);
+    }
+
+    /**
+     * Создает определитель контекста трассировки по заголовкам traceparent и X-Correlation-Id
+     * @return TraceContextResolver
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TraceContextResolver traceContextResolver() {
+        return new TraceContextResolver(null);
+    }
+
+    /**
+     * Создает гистограммы задержек запросов, если в приложении есть MeterRegistry
+     * @param meterRegistry реестр метрик
+     * @return LoggingMetrics
+     */
+    @Bean
+    public LoggingMetrics loggingMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new LoggingMetrics(meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * Создает реестр правил маскировки, проверяя и компилируя правила при старте приложения
+     * @param properties настройки
+     * @param maskers мапа всех маскировщиков
+     * @return MaskingRuleRegistry
+     */
+    @Bean
+    public MaskingRuleRegistry maskingRuleRegistry(EndpointLoggingProperties properties, Map<String, Masker> maskers) {
+        return new MaskingRuleRegistry(maskers, properties.maskingRules(), properties.maskingEnabled());
+    }
+
+    /**
+     * Создает сериализатор типизированных тел с маскировкой полей, помеченных {@code @Masked}
+     * @param objectMapper обьект для сериализации json
+     * @param maskers мапа всех маскировщиков
+     * @return MaskedBodySerializer
+     */
+    @Bean
+    public MaskedBodySerializer maskedBodySerializer(ObjectMapper objectMapper, Map<String, Masker> maskers) {
+        return new MaskedBodySerializer(objectMapper, maskers);
+    }
+
+    /**
+     * Создает advice для сохранения типизированных тел запроса и ответа
+     * @param properties настройки
+     * @return TypedBodyCaptureAdvice
+     */
+    @Bean
+    public TypedBodyCaptureAdvice typedBodyCaptureAdvice(EndpointLoggingProperties properties) {
+        return new TypedBodyCaptureAdvice(properties);
+    }
+
+    /**
+     * Подготавливает сериализаторы тел всех обработчиков при старте приложения,
+     * чтобы рефлексия не выполнялась во время обработки запросов
+     * @param beanFactory фабрика бинов
+     * @param maskedBodySerializer сериализатор типизированных тел
+     * @param properties настройки
+     * @return SmartInitializingSingleton
+     */
+    @Bean
+    public SmartInitializingSingleton maskedBodySerializerWarmUp(ListableBeanFactory beanFactory, MaskedBodySerializer maskedBodySerializer,
+                                                                EndpointLoggingProperties properties) {
+        return () -> {
+            if (!properties.typedBodyLogging()) {
+                return;
+            }
+            beanFactory.getBeansOfType(RequestMappingHandlerMapping.class).values()
+                    .forEach(mapping -> mapping.getHandlerMethods().values().forEach(maskedBodySerializer::warmUp));
+        };
     }
 
     /**
@@ -45,6 +177,26 @@ public class LoggingAutoConfiguration {
         return new ObjectMapper();
     }
 
+    /**
+     * Создает маскировщик StarterMasker, если приложение не подхватило его сканированием компонентов
+     * @return StarterMasker
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public StarterMasker starterMasker() {
+        return new StarterMasker();
+    }
+
+    /**
+     * Создает маскировщик RegexMasker, если приложение не подхватило его сканированием компонентов
+     * @return RegexMasker
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RegexMasker regexMasker() {
+        return new RegexMasker();
+    }
+
     /**
      * Создает Map маскировщиков
      * @param maskers список всех маскировщиков
@@ -56,6 +208,89 @@ public class LoggingAutoConfiguration {
                 .collect(Collectors.toMap(masker -> masker.getClass().getSimpleName(), masker -> masker));
     }
 
+    /**
+     * Регистрирует фильтр инкрементального захвата тел запроса и ответа
+     * @param properties настройки
+     * @return FilterRegistrationBean
+     */
+    @Bean
+    public FilterRegistrationBean<BodyCaptureFilter> bodyCaptureFilter(EndpointLoggingProperties properties) {
+        FilterRegistrationBean<BodyCaptureFilter> registration = new FilterRegistrationBean<>(new BodyCaptureFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Создает синхронизатор конфигурации маскировки из общих для кластера источников
+     * @param properties настройки
+     * @param maskingRuleRegistry реестр скомпилированных правил маскировки
+     * @param sources источники конфигурации
+     * @return MaskingConfigSynchronizer
+     */
+    @Bean
+    public MaskingConfigSynchronizer maskingConfigSynchronizer(EndpointLoggingProperties properties, MaskingRuleRegistry maskingRuleRegistry,
+                                                               ObjectProvider<MaskingConfigSource> sources) {
+        return new MaskingConfigSynchronizer(properties, maskingRuleRegistry, sources.orderedStream().toList());
+    }
+
+    /**
+     * Создает источник конфигурации маскировки в файле на общем диске
+     * @param properties настройки
+     * @param objectMapper обьект для десериализации json
+     * @return FileMaskingConfigSource
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "endpoint.logging", name = "config-source-file")
+    public FileMaskingConfigSource fileMaskingConfigSource(EndpointLoggingProperties properties, ObjectMapper objectMapper) {
+        return new FileMaskingConfigSource(Path.of(properties.configSourceFile()), properties.configSourcePollMs(), objectMapper);
+    }
+
+    /**
+     * Создает источник конфигурации маскировки в компактифицируемом топике Kafka
+     * @param properties настройки
+     * @param consumerFactory фабрика потребителей Kafka
+     * @param objectMapper обьект для десериализации json
+     * @return KafkaMaskingConfigSource
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "endpoint.logging", name = "config-source-kafka-topic")
+    public KafkaMaskingConfigSource kafkaMaskingConfigSource(EndpointLoggingProperties properties,
+                                                             ConsumerFactory<?, ?> consumerFactory, ObjectMapper objectMapper) {
+        return new KafkaMaskingConfigSource(consumerFactory, properties.configSourceKafkaTopic(), objectMapper);
+    }
+
+    /**
+     * Создает маскировку произвольных сообщений лога и делает ее доступной расширениям Logback и Log4j2
+     * @param properties настройки
+     * @param maskingRuleRegistry реестр скомпилированных правил маскировки
+     * @return LogMessageMasking
+     */
+    @Bean
+    public LogMessageMasking logMessageMasking(EndpointLoggingProperties properties, MaskingRuleRegistry maskingRuleRegistry) {
+        LogMessageMasking logMessageMasking = new LogMessageMasking(maskingRuleRegistry, properties.logMaskingMarkers());
+        LogMessageMasking.install(logMessageMasking);
+        return logMessageMasking;
+    }
+
+    /**
+     * Конфигурация, предпочитающая текущий спан Micrometer Tracing заголовку traceparent
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.tracing.Tracer")
+    static class MicrometerTracingConfiguration {
+
+        /**
+         * Создает определитель контекста трассировки с использованием Micrometer Tracing
+         * @param tracer трассировщик
+         * @return TraceContextResolver
+         */
+        @Bean
+        @ConditionalOnBean(Tracer.class)
+        public TraceContextResolver micrometerTraceContextResolver(Tracer tracer) {
+            return new TraceContextResolver(new MicrometerTraceContextSupplier(tracer));
+        }
+    }
+
     /**
      * Создает WebMvcConfigurer для добавления перехватчика
      * @param loggingInterceptor перехватчик
@@ -0,0 +1,109 @@
+package org.example.loggingmaskingstarter.core;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Фильтр, оборачивающий запрос и ответ для инкрементального захвата тел в пределах настроенных лимитов.
+ * Обертки сохраняются в атрибутах запроса и переживают асинхронную обработку
+ * ({@code DeferredResult}, {@code Callable}, {@code StreamingResponseBody}, SSE).
+ */
+public class BodyCaptureFilter extends OncePerRequestFilter {
+
+    /**
+     * Атрибут запроса с оберткой запроса.
+     */
+    public static final String REQUEST_CAPTURE_ATTRIBUTE = BodyCaptureFilter.class.getName() + ".request";
+    /**
+     * Атрибут запроса с оберткой ответа.
+     */
+    public static final String RESPONSE_CAPTURE_ATTRIBUTE = BodyCaptureFilter.class.getName() + ".response";
+
+    private final EndpointLoggingProperties properties;
+
+    /**
+     * Конструктор {@link BodyCaptureFilter}.
+     *
+     * @param properties Настройки логирования и маскирования.
+     */
+    public BodyCaptureFilter(EndpointLoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Пропускает запрос без оберток, если логирование выключено.
+     *
+     * @param request HTTP-запрос.
+     * @return true, если фильтр не нужно применять.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.active();
+    }
+
+    /**
+     * Оборачивает запрос и ответ и передает их дальше по цепочке.
+     * После обработки сбрасывает writer обертки ответа: сразу, если запрос синхронный,
+     * и по завершении асинхронной обработки, если она была начата.
+     *
+     * @param request     HTTP-запрос.
+     * @param response    HTTP-ответ.
+     * @param filterChain Цепочка фильтров.
+     * @throws ServletException в случае ошибки.
+     * @throws IOException      в случае ошибки.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        BodyCaptureRequestWrapper requestWrapper = new BodyCaptureRequestWrapper(request, properties.requestBodySizeLimit());
+        BodyCaptureResponseWrapper responseWrapper = new BodyCaptureResponseWrapper(response, properties.responseBodySizeLimit());
+        request.setAttribute(REQUEST_CAPTURE_ATTRIBUTE, requestWrapper);
+        request.setAttribute(RESPONSE_CAPTURE_ATTRIBUTE, responseWrapper);
+        filterChain.doFilter(requestWrapper, responseWrapper);
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new WriterFlushingListener(responseWrapper));
+        } else {
+            responseWrapper.flushWriter();
+        }
+    }
+
+    /**
+     * Сбрасывает writer обертки ответа по завершении асинхронной обработки.
+     */
+    private static final class WriterFlushingListener implements AsyncListener {
+
+        private final BodyCaptureResponseWrapper responseWrapper;
+
+        WriterFlushingListener(BodyCaptureResponseWrapper responseWrapper) {
+            this.responseWrapper = responseWrapper;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            responseWrapper.flushWriter();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            responseWrapper.flushWriter();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            responseWrapper.flushWriter();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
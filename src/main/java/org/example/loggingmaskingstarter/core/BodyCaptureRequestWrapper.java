@@ -0,0 +1,126 @@
+package org.example.loggingmaskingstarter.core;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Обертка HTTP-запроса, копирующая прочитанное обработчиком тело в {@link BoundedBodyCapture} по мере чтения.
+ */
+public class BodyCaptureRequestWrapper extends HttpServletRequestWrapper {
+
+    private final BoundedBodyCapture capture;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    /**
+     * Конструктор {@link BodyCaptureRequestWrapper}.
+     *
+     * @param request HTTP-запрос.
+     * @param limit   Максимальный размер сохраняемого тела.
+     */
+    public BodyCaptureRequestWrapper(HttpServletRequest request, int limit) {
+        super(request);
+        this.capture = new BoundedBodyCapture(limit);
+    }
+
+    /**
+     * Возвращает поток тела запроса, копирующий прочитанные байты.
+     *
+     * @return ServletInputStream
+     * @throws IOException в случае ошибки.
+     */
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (Objects.isNull(inputStream)) {
+            inputStream = new CapturingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    /**
+     * Возвращает reader тела запроса поверх копирующего потока.
+     *
+     * @return BufferedReader
+     * @throws IOException в случае ошибки.
+     */
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (Objects.isNull(reader)) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+        }
+        return reader;
+    }
+
+    /**
+     * Возвращает прочитанное тело запроса.
+     *
+     * @return тело запроса в пределах лимита.
+     */
+    public String getCapturedBody() {
+        return capture.asString(charset());
+    }
+
+    /**
+     * Возвращает кодировку запроса.
+     *
+     * @return Charset
+     */
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        return Objects.isNull(encoding) ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+    }
+
+    /**
+     * Поток, копирующий прочитанные байты в {@link BoundedBodyCapture}.
+     */
+    private class CapturingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        CapturingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                capture.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            if (count > 0) {
+                capture.write(b, off, count);
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
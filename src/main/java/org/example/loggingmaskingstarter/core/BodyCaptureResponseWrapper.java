@@ -0,0 +1,151 @@
+package org.example.loggingmaskingstarter.core;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Обертка HTTP-ответа, которая пишет тело напрямую в исходный ответ и параллельно копирует
+ * не более заданного числа байт в {@link BoundedBodyCapture}.
+ * В отличие от {@code ContentCachingResponseWrapper} не буферизует ответ целиком,
+ * поэтому подходит для потоковых ответов и SSE.
+ */
+public class BodyCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final BoundedBodyCapture capture;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    /**
+     * Конструктор {@link BodyCaptureResponseWrapper}.
+     *
+     * @param response HTTP-ответ.
+     * @param limit    Максимальный размер сохраняемого тела.
+     */
+    public BodyCaptureResponseWrapper(HttpServletResponse response, int limit) {
+        super(response);
+        this.capture = new BoundedBodyCapture(limit);
+    }
+
+    /**
+     * Возвращает поток тела ответа, копирующий записанные байты.
+     *
+     * @return ServletOutputStream
+     * @throws IOException в случае ошибки.
+     */
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (Objects.isNull(outputStream)) {
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    /**
+     * Возвращает writer тела ответа поверх копирующего потока.
+     *
+     * @return PrintWriter
+     * @throws IOException в случае ошибки.
+     */
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (Objects.isNull(writer)) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset()));
+        }
+        return writer;
+    }
+
+    /**
+     * Сбрасывает writer и буфер исходного ответа.
+     *
+     * @throws IOException в случае ошибки.
+     */
+    @Override
+    public void flushBuffer() throws IOException {
+        flushWriter();
+        super.flushBuffer();
+    }
+
+    /**
+     * Сбрасывает символы, накопленные writer-ом, в исходный ответ.
+     * Writer буферизует вывод, поэтому без сброса по завершении запроса
+     * содержимое, записанное через {@link #getWriter()} без явного flush, было бы потеряно.
+     */
+    public void flushWriter() {
+        if (Objects.nonNull(writer)) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Возвращает записанное тело ответа.
+     *
+     * @return тело ответа в пределах лимита.
+     */
+    public String getCapturedBody() {
+        flushWriter();
+        return capture.asString(charset());
+    }
+
+    /**
+     * Возвращает кодировку ответа.
+     *
+     * @return Charset
+     */
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        return Objects.isNull(encoding) ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+    }
+
+    /**
+     * Поток, пишущий в исходный ответ и копирующий байты в {@link BoundedBodyCapture}.
+     */
+    private class CapturingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        CapturingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
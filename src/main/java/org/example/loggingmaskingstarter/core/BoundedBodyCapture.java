@@ -0,0 +1,88 @@
+package org.example.loggingmaskingstarter.core;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Буфер, копирующий не более заданного числа байт проходящего через поток тела.
+ * Остальные байты только подсчитываются, поэтому длинные потоковые ответы не накапливаются в памяти.
+ */
+public class BoundedBodyCapture {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int limit;
+    private byte[] buffer = new byte[0];
+    private int size;
+    private boolean truncated;
+
+    /**
+     * Конструктор {@link BoundedBodyCapture}.
+     *
+     * @param limit Максимальное число сохраняемых байт.
+     */
+    public BoundedBodyCapture(int limit) {
+        this.limit = Math.max(limit, 0);
+    }
+
+    /**
+     * Сохраняет байт, если лимит еще не достигнут.
+     *
+     * @param b Байт.
+     */
+    public void write(int b) {
+        if (size >= limit) {
+            truncated = true;
+            return;
+        }
+        ensureCapacity(size + 1);
+        buffer[size++] = (byte) b;
+    }
+
+    /**
+     * Сохраняет часть массива байт, не превышая лимит.
+     *
+     * @param b   Массив байт.
+     * @param off Смещение.
+     * @param len Количество байт.
+     */
+    public void write(byte[] b, int off, int len) {
+        if (len <= 0) {
+            return;
+        }
+        int toCopy = Math.min(len, limit - size);
+        if (toCopy < len) {
+            truncated = true;
+        }
+        if (toCopy <= 0) {
+            return;
+        }
+        ensureCapacity(size + toCopy);
+        System.arraycopy(b, off, buffer, size, toCopy);
+        size += toCopy;
+    }
+
+    /**
+     * Возвращает сохраненное тело в виде строки.
+     *
+     * @param charset Кодировка тела.
+     * @return тело с пометкой об обрезке, если лимит был превышен.
+     */
+    public String asString(Charset charset) {
+        String body = new String(buffer, 0, size, charset);
+        return truncated ? body + "... (truncated)" : body;
+    }
+
+    /**
+     * Увеличивает буфер до нужного размера, но не больше лимита.
+     *
+     * @param required Требуемый размер.
+     */
+    private void ensureCapacity(int required) {
+        if (required <= buffer.length) {
+            return;
+        }
+        int capacity = Math.max(buffer.length * 2, INITIAL_CAPACITY);
+        buffer = Arrays.copyOf(buffer, Math.min(Math.max(capacity, required), limit));
+    }
+}
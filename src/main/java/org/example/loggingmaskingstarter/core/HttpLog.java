@@ -23,6 +23,18 @@ public class HttpLog {
      * HTTP-статус ответа.
      */
     private int status;
+    /**
+     * Идентификатор трассы W3C.
+     */
+    private String traceId;
+    /**
+     * Идентификатор спана W3C.
+     */
+    private String spanId;
+    /**
+     * Идентификатор корреляции.
+     */
+    private String correlationId;
     /**
      * Заголовки запроса.
      */
@@ -35,6 +47,18 @@ public class HttpLog {
      * Время выполнения запроса в миллисекундах.
      */
     private long executionTime;
+    /**
+     * Время работы обработчика в микросекундах.
+     */
+    private long handlerTime;
+    /**
+     * Время сериализации ответа в микросекундах.
+     */
+    private long serializationTime;
+    /**
+     * Время логирования и маскировки в микросекундах.
+     */
+    private long loggingTime;
     /**
      * Тело запроса.
      */
@@ -54,11 +78,23 @@ public class HttpLog {
                 "Тип запроса: " + method + "\n" +
                 "URI эндпоинта: " + uriEndpoint + "\n" +
                 "Статус: " + status + "\n" +
+                "traceId: " + traceId + ", spanId: " + spanId + ", correlationId: " + correlationId + "\n" +
                 "Заголовки запроса: " + requestHeaders + "\n" +
                 "Заголовки ответа: " + responseHeaders + "\n" +
                 "Время выполнения запроса: " + executionTime + " мс" + "\n" +
+                "Время обработчика: " + handlerTime + " мкс, сериализации: " + serializationTime
+                + " мкс, логирования: " + loggingTime + " мкс" + "\n" +
                 "=========================================";
     }
 
+    /**
+     * Выводит краткое однострочное сообщение.
+     * @return сообщение.
+     */
+    public String toSummaryString() {
+        return method + " " + uriEndpoint + " " + status + " " + executionTime + " мс"
+                + " traceId=" + traceId + " correlationId=" + correlationId;
+    }
+
 
 }
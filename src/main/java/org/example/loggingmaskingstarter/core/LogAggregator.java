@@ -0,0 +1,134 @@
+package org.example.loggingmaskingstarter.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Схлопывает повторяющиеся записи лога в пределах временного окна.
+ * Первая запись с данным отпечатком логируется как обычно, повторы только подсчитываются
+ * в {@link ConcurrentHashMap} (разбитой на независимые сегменты), а по истечении окна фоновый поток
+ * выводит одну агрегированную запись с количеством и min/max/avg задержкой.
+ * Медленные и ошибочные HTTP-запросы в агрегатор не передаются и всегда логируются отдельно.
+ */
+public class LogAggregator implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LogAggregator.class);
+
+    private final Map<LogFingerprint, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Конструктор {@link LogAggregator}.
+     *
+     * @param windowMs Длительность окна агрегации в миллисекундах (0 отключает агрегацию).
+     */
+    public LogAggregator(long windowMs) {
+        if (windowMs <= 0) {
+            this.flusher = null;
+            return;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "endpoint-logging-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleAtFixedRate(this::flush, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Учитывает запись лога.
+     *
+     * @param fingerprint  Отпечаток записи.
+     * @param description  Краткое описание записи для агрегированного лога.
+     * @param latencyNanos Задержка в наносекундах.
+     * @return true, если запись нужно залогировать (первая в окне или агрегация отключена).
+     */
+    public boolean record(LogFingerprint fingerprint, String description, long latencyNanos) {
+        if (flusher == null) {
+            return true;
+        }
+        while (true) {
+            Aggregate aggregate = aggregates.get(fingerprint);
+            if (aggregate == null) {
+                aggregate = aggregates.putIfAbsent(fingerprint, new Aggregate(description, latencyNanos));
+                if (aggregate == null) {
+                    return true;
+                }
+            }
+            if (aggregate.add(latencyNanos)) {
+                return false;
+            }
+            // агрегат уже выведен и удален фоновым потоком - начинаем новое окно
+            aggregates.remove(fingerprint, aggregate);
+        }
+    }
+
+    /**
+     * Выводит агрегированные записи с повторами и очищает окно.
+     */
+    void flush() {
+        for (Map.Entry<LogFingerprint, Aggregate> entry : aggregates.entrySet()) {
+            Aggregate aggregate = entry.getValue();
+            aggregates.remove(entry.getKey(), aggregate);
+            aggregate.close();
+        }
+    }
+
+    /**
+     * Останавливает фоновый поток, выводя накопленные агрегаты.
+     */
+    @Override
+    public void destroy() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flush();
+        }
+    }
+
+    /**
+     * Статистика повторов одной записи в текущем окне.
+     */
+    private static final class Aggregate {
+
+        private final String description;
+        private long count = 1;
+        private long minNanos;
+        private long maxNanos;
+        private long sumNanos;
+        private boolean closed;
+
+        Aggregate(String description, long latencyNanos) {
+            this.description = description;
+            this.minNanos = latencyNanos;
+            this.maxNanos = latencyNanos;
+            this.sumNanos = latencyNanos;
+        }
+
+        synchronized boolean add(long latencyNanos) {
+            if (closed) {
+                return false;
+            }
+            count++;
+            minNanos = Math.min(minNanos, latencyNanos);
+            maxNanos = Math.max(maxNanos, latencyNanos);
+            sumNanos += latencyNanos;
+            return true;
+        }
+
+        synchronized void close() {
+            closed = true;
+            if (count > 1) {
+                log.info("Повторено {} раз: {} (задержка мин/макс/сред: {}/{}/{} мс)", count, description,
+                        TimeUnit.NANOSECONDS.toMillis(minNanos), TimeUnit.NANOSECONDS.toMillis(maxNanos),
+                        TimeUnit.NANOSECONDS.toMillis(sumNanos / count));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.loggingmaskingstarter.core;
+
+import java.util.Objects;
+
+/**
+ * Отпечаток записи лога для поиска повторов: источник, метод, шаблон URI (или топик),
+ * статус и хэш замаскированного тела.
+ */
+public final class LogFingerprint {
+
+    private final String source;
+    private final String method;
+    private final String template;
+    private final int status;
+    private final int bodyHash;
+
+    /**
+     * Конструктор {@link LogFingerprint}.
+     *
+     * @param source   Источник записи ("http" или "kafka").
+     * @param method   HTTP-метод (может отсутствовать).
+     * @param template Шаблон URI эндпоинта или топик Kafka.
+     * @param status   HTTP-статус (0 для Kafka).
+     * @param bodyHash Хэш замаскированного тела.
+     */
+    public LogFingerprint(String source, String method, String template, int status, int bodyHash) {
+        this.source = source;
+        this.method = method;
+        this.template = template;
+        this.status = status;
+        this.bodyHash = bodyHash;
+    }
+
+    /**
+     * Сравнивает отпечатки по всем полям.
+     *
+     * @param o Другой объект.
+     * @return true, если отпечатки совпадают.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LogFingerprint that)) {
+            return false;
+        }
+        return status == that.status && bodyHash == that.bodyHash && Objects.equals(source, that.source)
+                && Objects.equals(method, that.method) && Objects.equals(template, that.template);
+    }
+
+    /**
+     * Возвращает хэш отпечатка.
+     *
+     * @return хэш.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(source, method, template, status, bodyHash);
+    }
+}
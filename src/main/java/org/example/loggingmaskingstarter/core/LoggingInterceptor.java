@@ -9,48 +9,72 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StreamUtils;
-import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Интерсептор для логирования HTTP-запросов и ответов.
  * Выполняет логирование и маскировку данных.
+ * Поддерживает асинхронную обработку: для {@code DeferredResult}, {@code Callable} и потоковых ответов
+ * при первичной диспетчеризации вызывается только {@code afterConcurrentHandlingStarted}, а логирование
+ * выполняется в {@link #afterCompletion} при асинхронной диспетчеризации, после фактического завершения запроса.
+ * Временные отметки хранятся в атрибуте запроса и переживают обе диспетчеризации.
  */
 @Component
-public class LoggingInterceptor implements HandlerInterceptor {
+public class LoggingInterceptor implements AsyncHandlerInterceptor {
 
     private static final Logger log = LoggerFactory.getLogger(LoggingInterceptor.class);
-    private static final String START_TIME_ATTRIBUTE = "startTime";
 
     private final EndpointLoggingProperties properties;
-    private final Map<String, Masker> maskers;
+    private final MaskingRuleRegistry maskingRuleRegistry;
 
     private final ObjectMapper objectMapper;
+    private final MaskedBodySerializer maskedBodySerializer;
+    private final LoggingMetrics metrics;
+    private final TraceContextResolver traceContextResolver;
+    private final TailLogBuffer tailLogBuffer;
+    private final LogAggregator logAggregator;
 
     /**
      * Конструктор {@link LoggingInterceptor}.
      *
      * @param properties Настройки логирования и маскирования.
-     * @param maskers Мапа всех доступных маскировщиков.
+     * @param maskingRuleRegistry Реестр скомпилированных правил маскировки.
      * @param objectMapper Объект для сериализации и десериализации JSON.
+     * @param maskedBodySerializer Сериализатор типизированных тел с маскировкой полей {@link Masked}.
+     * @param metrics Гистограммы задержек запросов.
+     * @param traceContextResolver Определитель контекста трассировки.
+     * @param tailLogBuffer Снимок недавнего трафика для режима tailLogging.
+     * @param logAggregator Агрегатор повторяющихся записей.
      */
-    public LoggingInterceptor(EndpointLoggingProperties properties, Map<String, Masker> maskers, ObjectMapper objectMapper) {
+    public LoggingInterceptor(EndpointLoggingProperties properties, MaskingRuleRegistry maskingRuleRegistry, ObjectMapper objectMapper,
+                              MaskedBodySerializer maskedBodySerializer, LoggingMetrics metrics,
+                              TraceContextResolver traceContextResolver, TailLogBuffer tailLogBuffer,
+                              LogAggregator logAggregator) {
         this.properties = properties;
-        this.maskers = maskers;
+        this.maskingRuleRegistry = maskingRuleRegistry;
         this.objectMapper = objectMapper;
+        this.maskedBodySerializer = maskedBodySerializer;
+        this.metrics = metrics;
+        this.traceContextResolver = traceContextResolver;
+        this.tailLogBuffer = tailLogBuffer;
+        this.logAggregator = logAggregator;
     }
 
     /**
      * Выполняется перед обработкой запроса.
-     * Записывает время начала обработки запроса.
+     * Записывает время начала обработки запроса. При повторной асинхронной диспетчеризации
+     * время начала не перезаписывается, чтобы длительность охватывала весь запрос.
      *
      * @param request  HTTP-запрос.
      * @param response HTTP-ответ.
@@ -60,14 +84,37 @@ public class LoggingInterceptor implements HandlerInterceptor {
      */
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        long start = System.currentTimeMillis();
-        request.setAttribute(START_TIME_ATTRIBUTE, start);
+        if (Objects.isNull(RequestTimings.of(request))) {
+            request.setAttribute(RequestTimings.ATTRIBUTE, new RequestTimings(System.nanoTime()));
+        }
         return true;
     }
 
+    /**
+     * Выполняется после работы обработчика.
+     * Отмечает завершение обработчика, если сериализация ответа еще не была отмечена.
+     *
+     * @param request      HTTP-запрос.
+     * @param response     HTTP-ответ.
+     * @param handler      Обработчик запроса.
+     * @param modelAndView Модель и представление (если есть).
+     */
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        RequestTimings timings = RequestTimings.of(request);
+        if (Objects.nonNull(timings)) {
+            timings.markHandlerEnd();
+        }
+    }
+
     /**
      * Выполняется после завершения обработки запроса.
      * Логирует запрос и ответ, выполняет маскировку.
+     * Запросы дольше {@code slowRequestThresholdMs} логируются полностью с уровнем WARN,
+     * быстрые - в соответствии с режимом {@code fastRequestLogging}.
+     * В режиме {@code tailLogging} полностью логируются только медленные и неуспешные запросы
+     * (или все при включенном debug) вместе со снимком недавнего трафика,
+     * остальные - одной строкой, а их незамаскированные данные попадают в снимок ({@link TailLogBuffer}).
      *
      * @param request  HTTP-запрос.
      * @param response HTTP-ответ.
@@ -77,73 +124,153 @@ public class LoggingInterceptor implements HandlerInterceptor {
      */
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
-        long start = (long) request.getAttribute(START_TIME_ATTRIBUTE);
-        long end = System.currentTimeMillis();
-        long duration = end - start;
+        long completion = System.nanoTime();
+        RequestTimings timings = RequestTimings.of(request);
+        if (Objects.isNull(timings)) {
+            return;
+        }
+        long handlerNanos = timings.handlerNanos(completion);
+        long serializationNanos = timings.serializationNanos(completion);
+        long totalNanos = completion - timings.startNanos();
+        boolean slow = totalNanos >= TimeUnit.MILLISECONDS.toNanos(properties.slowRequestThresholdMs());
+        boolean tailLogging = properties.tailLogging();
+        EndpointLoggingProperties.FastRequestLogging fastRequestLogging = tailLogging
+                ? EndpointLoggingProperties.FastRequestLogging.SUMMARY
+                : properties.fastRequestLogging();
+
+        if (!slow && fastRequestLogging == EndpointLoggingProperties.FastRequestLogging.NONE) {
+            metrics.record(handlerNanos, serializationNanos, System.nanoTime() - completion, false);
+            return;
+        }
 
         String method = request.getMethod();
         String requestURL = request.getRequestURL().toString();
         int statusCode = response.getStatus();
+        long duration = TimeUnit.NANOSECONDS.toMillis(totalNanos);
+        TraceContext traceContext = traceContextResolver.resolve(request::getHeader);
+        boolean failed = Objects.nonNull(ex) || statusCode >= 400;
+        boolean detailed = tailLogging ? slow || failed || properties.debug() : slow;
 
-        Map<String, String> requestHeaders = getHeader(request);
-        Map<String, String> responseHeaders = getHeader(response);
+        HttpLog httpLog = createMessage(method, requestURL, statusCode, duration, traceContext,
+                null, null, null, null);
+        httpLog.setHandlerTime(TimeUnit.NANOSECONDS.toMicros(handlerNanos));
+        httpLog.setSerializationTime(TimeUnit.NANOSECONDS.toMicros(serializationNanos));
 
-        String requestBody = getRequestBody(request);
-        String responseBody = getResponseBody(response);
+        if (!detailed && fastRequestLogging == EndpointLoggingProperties.FastRequestLogging.SUMMARY) {
+            // повторы, поглощенные агрегатором, не попадают и в снимок недавнего трафика
+            if (logAggregator.record(fingerprint(request, httpLog, 0), httpLog.toSummaryString(), totalNanos)) {
+                if (tailLogging) {
+                    tailLogBuffer.add(captureDetails(httpLog, request, response));
+                }
+                log.info("Лог HTTP {}", httpLog.toSummaryString());
+            }
+            metrics.record(handlerNanos, serializationNanos, System.nanoTime() - completion, false);
+            return;
+        }
 
+        captureDetails(httpLog, request, response);
+        maskLog(httpLog);
+        httpLog.setLoggingTime(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - completion));
+        // медленные и ошибочные запросы не агрегируются, чтобы каждый инцидент попал в лог со своим уровнем
+        int bodyHash = Objects.hash(httpLog.getRequestBody(), httpLog.getResponseBody());
+        if (!slow && !failed
+                && !logAggregator.record(fingerprint(request, httpLog, bodyHash), httpLog.toSummaryString(), totalNanos)) {
+            metrics.record(handlerNanos, serializationNanos, System.nanoTime() - completion, false);
+            return;
+        }
+        if (tailLogging) {
+            for (HttpLog preceding : tailLogBuffer.drain()) {
+                log.info("Лог HTTP из снимка недавнего трафика {}", maskLog(preceding));
+            }
+        }
 
-        if(properties.maskingEnabled()){
-            requestHeaders = maskHeaders(requestHeaders, "request.headers");
-            responseHeaders = maskHeaders(responseHeaders, "response.headers");
-            requestBody = maskBody(requestBody, "request.body");
-            responseBody = maskBody(responseBody, "response.body");
+        if (slow) {
+            log.warn("Медленный запрос HTTP {}", httpLog);
+        } else if (tailLogging && failed) {
+            log.warn("Ошибка запроса HTTP {}", httpLog);
+        } else {
+            log.info("Лог HTTP {}", httpLog);
         }
-        HttpLog httpLog = createMessage(method, requestURL, statusCode, duration, requestHeaders, responseHeaders, requestBody, responseBody);
+        metrics.record(handlerNanos, serializationNanos, System.nanoTime() - completion, slow);
+    }
 
-        log.info("Лог HTTP {}", httpLog);
+    /**
+     * Создает отпечаток записи для агрегации повторов.
+     *
+     * @param request HTTP-запрос.
+     * @param httpLog Запись лога.
+     * @param bodyHash Хэш замаскированных тел.
+     * @return LogFingerprint
+     */
+    private LogFingerprint fingerprint(HttpServletRequest request, HttpLog httpLog, int bodyHash) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String template = Objects.nonNull(pattern) ? pattern.toString() : request.getRequestURI();
+        return new LogFingerprint("http", httpLog.getMethod(), template, httpLog.getStatus(), bodyHash);
+    }
+
+    /**
+     * Заполняет запись лога незамаскированными заголовками и телами запроса и ответа.
+     *
+     * @param httpLog Запись лога.
+     * @param request HTTP-запрос.
+     * @param response HTTP-ответ.
+     * @return та же запись лога.
+     * @throws IOException в случае ошибки.
+     */
+    private HttpLog captureDetails(HttpLog httpLog, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        httpLog.setRequestHeaders(getHeader(request));
+        httpLog.setResponseHeaders(getHeader(response));
+        httpLog.setRequestBody(getRequestBody(request));
+        httpLog.setResponseBody(getResponseBody(request, response));
+        return httpLog;
+    }
+
+    /**
+     * Маскирует заголовки и тела записи лога, если маскировка включена.
+     *
+     * @param httpLog Запись лога.
+     * @return та же запись лога.
+     */
+    private HttpLog maskLog(HttpLog httpLog) {
+        MaskingRules rules = maskingRuleRegistry.current();
+        if(rules.maskingEnabled()){
+            httpLog.setRequestHeaders(maskHeaders(httpLog.getRequestHeaders(), rules.requestHeaders()));
+            httpLog.setResponseHeaders(maskHeaders(httpLog.getResponseHeaders(), rules.responseHeaders()));
+            httpLog.setRequestBody(maskBody(httpLog.getRequestBody(), rules.requestBody()));
+            httpLog.setResponseBody(maskBody(httpLog.getResponseBody(), rules.responseBody()));
+        }
+        return httpLog;
     }
 
     /**
      * Маскирует тело запроса или ответа.
      *
      * @param body Входное тело.
-     * @param path Путь к телу (например, "request.body" или "response.body")
+     * @param rule Скомпилированное правило для тела (может отсутствовать).
      * @return Замаскированное тело.
      */
-    private String maskBody(String body, String path) {
-        if (Objects.isNull(body) || Objects.isNull(properties.maskingRules())) {
+    private String maskBody(String body, MaskingRule rule) {
+        if (Objects.isNull(body) || Objects.isNull(rule)) {
             return body;
         }
-        String maskingType = Optional.ofNullable(properties.maskingRules().get(path)).map(EndpointLoggingProperties.MaskingConfig::maskingType).orElse("");
-        return Optional.ofNullable(maskers.get(maskingType))
-                .map(masker -> masker.mask(body, new MaskingContext(path, maskingType)))
-                .orElse(body);
+        return rule.apply(body);
     }
 
     /**
      * Маскирует заголовки запроса или ответа.
      *
      * @param headers заголовки для маскировки.
-     * @param headerType Тип заголовков ("request.headers" или "response.headers").
+     * @param rules Скомпилированные правила для заголовков (имена без учета регистра).
      * @return замаскированные заголовки.
      */
-    private Map<String, String> maskHeaders(Map<String, String> headers, String headerType) {
-        if(Objects.isNull(properties.maskingRules()) || headers.isEmpty()){
+    private Map<String, String> maskHeaders(Map<String, String> headers, Map<String, MaskingRule> rules) {
+        if(rules.isEmpty() || headers.isEmpty()){
             return headers;
         }
         Map<String, String> maskedHeaders = new HashMap<>();
         for (Map.Entry<String, String> entry : headers.entrySet()) {
-            String key = entry.getKey();
-            String path = headerType + "." + key;
-            if(properties.maskingRules().containsKey(path)){
-                EndpointLoggingProperties.MaskingConfig maskingConfig = properties.maskingRules().get(path);
-                String maskedValue = Optional.ofNullable(maskers.get(maskingConfig.maskingType()))
-                        .map(masker -> masker.mask(entry.getValue(), new MaskingContext(path, maskingConfig.maskingType())))
-                        .orElse(entry.getValue());
-                maskedHeaders.put(key,maskedValue);
-            } else{
-                maskedHeaders.put(key, entry.getValue());
-            }
+            MaskingRule rule = rules.get(entry.getKey());
+            maskedHeaders.put(entry.getKey(), Objects.isNull(rule) ? entry.getValue() : rule.apply(entry.getValue()));
         }
         return maskedHeaders;
     }
@@ -156,30 +283,47 @@ public class LoggingInterceptor implements HandlerInterceptor {
      * @throws IOException в случае ошибки.
      */
     private String getRequestBody(HttpServletRequest request) throws IOException {
+        Object typedBody = request.getAttribute(TypedBodyCaptureAdvice.REQUEST_BODY_ATTRIBUTE);
+        if (Objects.nonNull(typedBody)) {
+            Type declaredType = (Type) request.getAttribute(TypedBodyCaptureAdvice.REQUEST_BODY_TYPE_ATTRIBUTE);
+            return limitBody(maskedBodySerializer.serialize(typedBody, declaredType, maskingRuleRegistry.current().maskingEnabled()),
+                    properties.requestBodySizeLimit());
+        }
         if(request.getContentType() == null || !request.getContentType().contains(MediaType.APPLICATION_JSON_VALUE)){
             return "";
         }
+        Object capture = request.getAttribute(BodyCaptureFilter.REQUEST_CAPTURE_ATTRIBUTE);
+        if (capture instanceof BodyCaptureRequestWrapper requestWrapper) {
+            return requestWrapper.getCapturedBody();
+        }
         int maxBodySize = properties.requestBodySizeLimit();
         return limitBody(StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8), maxBodySize);
     }
 
     /**
-     * Получает тело ответа.
+     * Получает тело ответа, захваченное {@link BodyCaptureFilter} в пределах лимита.
      *
+     * @param request HTTP-запрос
      * @param response HTTP-ответ
      * @return Тело ответа
      * @throws IOException в случае ошибки.
      */
-    private String getResponseBody(HttpServletResponse response) throws IOException {
-        if(response.getContentType() == null || !response.getContentType().contains(MediaType.APPLICATION_JSON_VALUE)){
+    private String getResponseBody(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Object typedBody = request.getAttribute(TypedBodyCaptureAdvice.RESPONSE_BODY_ATTRIBUTE);
+        if (Objects.nonNull(typedBody)) {
+            Type declaredType = (Type) request.getAttribute(TypedBodyCaptureAdvice.RESPONSE_BODY_TYPE_ATTRIBUTE);
+            return limitBody(maskedBodySerializer.serialize(typedBody, declaredType, maskingRuleRegistry.current().maskingEnabled()),
+                    properties.responseBodySizeLimit());
+        }
+        String contentType = response.getContentType();
+        if(contentType == null || !(contentType.contains(MediaType.APPLICATION_JSON_VALUE) || contentType.contains(MediaType.TEXT_EVENT_STREAM_VALUE))){
             return "";
         }
-
-        int maxBodySize = properties.responseBodySizeLimit();
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
-        byte[] bodyBytes = responseWrapper.getContentAsByteArray();
-        responseWrapper.copyBodyToResponse();
-        return limitBody(new String(bodyBytes, StandardCharsets.UTF_8), maxBodySize);
+        Object capture = request.getAttribute(BodyCaptureFilter.RESPONSE_CAPTURE_ATTRIBUTE);
+        if (capture instanceof BodyCaptureResponseWrapper responseWrapper) {
+            return responseWrapper.getCapturedBody();
+        }
+        return "";
     }
 
     /**
@@ -235,19 +379,23 @@ public class LoggingInterceptor implements HandlerInterceptor {
      * @param requestURL URI запроса
      * @param statusCode статус
      * @param duration время выполнения
+     * @param traceContext контекст трассировки
      * @param requestHeaders заголовки запроса
      * @param responseHeaders заголовки ответа
      * @param requestBody тело запроса
      * @param responseBody тело ответа
      * @return созданный обьект HttpLog
      */
-    private HttpLog createMessage(String method, String requestURL, int statusCode, long duration,
+    private HttpLog createMessage(String method, String requestURL, int statusCode, long duration, TraceContext traceContext,
                                   Map<String, String> requestHeaders,
                                   Map<String, String> responseHeaders, String requestBody, String responseBody) {
         HttpLog httpLog = new HttpLog();
         httpLog.setMethod(method);
         httpLog.setUriEndpoint(requestURL);
         httpLog.setStatus(statusCode);
+        httpLog.setTraceId(traceContext.getTraceId());
+        httpLog.setSpanId(traceContext.getSpanId());
+        httpLog.setCorrelationId(traceContext.getCorrelationId());
         httpLog.setRequestHeaders(requestHeaders);
         httpLog.setResponseHeaders(responseHeaders);
         httpLog.setExecutionTime(duration);
@@ -0,0 +1,80 @@
+package org.example.loggingmaskingstarter.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Гистограммы задержек HTTP-запросов, публикуемые через Micrometer
+ * (доступны в Actuator endpoint {@code /actuator/metrics}).
+ * Если {@link MeterRegistry} отсутствует, метрики не собираются.
+ */
+public class LoggingMetrics {
+
+    private final Timer handlerTimer;
+    private final Timer serializationTimer;
+    private final Timer loggingTimer;
+    private final Counter slowRequests;
+
+    /**
+     * Конструктор {@link LoggingMetrics}.
+     *
+     * @param registry Реестр метрик (может быть null).
+     */
+    public LoggingMetrics(MeterRegistry registry) {
+        if (Objects.isNull(registry)) {
+            this.handlerTimer = null;
+            this.serializationTimer = null;
+            this.loggingTimer = null;
+            this.slowRequests = null;
+            return;
+        }
+        this.handlerTimer = timer(registry, "endpoint.logging.handler", "Время работы обработчика запроса");
+        this.serializationTimer = timer(registry, "endpoint.logging.serialization", "Время сериализации ответа");
+        this.loggingTimer = timer(registry, "endpoint.logging.overhead", "Время логирования и маскировки запроса");
+        this.slowRequests = Counter.builder("endpoint.logging.slow")
+                .description("Количество медленных запросов")
+                .register(registry);
+    }
+
+    /**
+     * Записывает задержки одного запроса.
+     *
+     * @param handlerNanos       Время работы обработчика.
+     * @param serializationNanos Время сериализации ответа.
+     * @param loggingNanos       Время логирования и маскировки.
+     * @param slow               Признак медленного запроса.
+     */
+    public void record(long handlerNanos, long serializationNanos, long loggingNanos, boolean slow) {
+        if (Objects.isNull(handlerTimer)) {
+            return;
+        }
+        handlerTimer.record(handlerNanos, TimeUnit.NANOSECONDS);
+        serializationTimer.record(serializationNanos, TimeUnit.NANOSECONDS);
+        loggingTimer.record(loggingNanos, TimeUnit.NANOSECONDS);
+        if (slow) {
+            slowRequests.increment();
+        }
+    }
+
+    /**
+     * Создает таймер с гистограммой перцентилей и рассчитанными на клиенте p50/p95/p99.
+     * Гистограмма нужна реестрам с агрегацией на стороне сервера (Prometheus), а рассчитанные перцентили
+     * видны в {@code /actuator/metrics} и в любом реестре, в том числе в SimpleMeterRegistry по умолчанию.
+     *
+     * @param registry    Реестр метрик.
+     * @param name        Имя метрики.
+     * @param description Описание метрики.
+     * @return Timer
+     */
+    private static Timer timer(MeterRegistry registry, String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.loggingmaskingstarter.core;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Аннотация для пометки чувствительных полей DTO.
+ * Значение поля при логировании тела будет замаскировано указанным маскировщиком.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Masked {
+    /**
+     * Тип маскировщика (простое имя класса реализации {@link Masker}, например "RegexMasker").
+     *
+     * @return тип маскировщика.
+     */
+    String type() default "StarterMasker";
+}
@@ -0,0 +1,139 @@
+package org.example.loggingmaskingstarter.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сериализует типизированные тела запросов и ответов для логирования
+ * с маскировкой полей, помеченных {@link Masked}.
+ * Сериализаторы кэшируются по объявленному в обработчике типу тела (тому же, что сохраняет {@link TypedBodyCaptureAdvice})
+ * и подготавливаются при старте приложения, чтобы не выполнять рефлексию на каждый запрос.
+ */
+public class MaskedBodySerializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MaskedBodySerializer.class);
+    private static final List<Class<?>> ASYNC_RETURN_TYPES =
+            List.of(DeferredResult.class, Callable.class, WebAsyncTask.class, CompletionStage.class);
+
+    private final ObjectMapper plainMapper;
+    private final ObjectMapper maskingMapper;
+    private final Map<Type, ObjectWriter> maskingWriters = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор {@link MaskedBodySerializer}.
+     *
+     * @param objectMapper Объект для сериализации JSON, используемый как основа.
+     * @param maskers      Мапа всех доступных маскировщиков.
+     */
+    public MaskedBodySerializer(ObjectMapper objectMapper, Map<String, Masker> maskers) {
+        this.plainMapper = objectMapper;
+        this.maskingMapper = objectMapper.copy().registerModule(new MaskedFieldsModule(maskers));
+    }
+
+    /**
+     * Подготавливает сериализаторы для типа ответа и тел запроса обработчика.
+     *
+     * @param handlerMethod Метод обработчика.
+     */
+    public void warmUp(HandlerMethod handlerMethod) {
+        warmUp(asyncResultType(handlerMethod.getReturnType().getGenericParameterType()));
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            if (parameter.hasParameterAnnotation(RequestBody.class)) {
+                warmUp(parameter.nestedIfOptional().getNestedGenericParameterType());
+            }
+        }
+    }
+
+    /**
+     * Сериализует тело в JSON.
+     *
+     * @param body         Тело запроса или ответа.
+     * @param declaredType Объявленный в обработчике тип тела (null - использовать класс тела).
+     * @param masked       Применять ли маскировку полей, помеченных {@link Masked}.
+     * @return JSON-представление тела.
+     */
+    public String serialize(Object body, Type declaredType, boolean masked) {
+        if (Objects.isNull(body)) {
+            return "";
+        }
+        if (body instanceof CharSequence) {
+            return body.toString();
+        }
+        try {
+            if (!masked) {
+                return plainMapper.writeValueAsString(body);
+            }
+            Type key = Objects.nonNull(declaredType) ? declaredType : body.getClass();
+            return maskingWriters.computeIfAbsent(key, this::createMaskingWriter).writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            log.warn("Не удалось сериализовать тело типа {} для логирования", body.getClass().getName(), e);
+            return "";
+        }
+    }
+
+    /**
+     * Возвращает тип, под которым тело ответа асинхронного обработчика попадет в {@link TypedBodyCaptureAdvice}.
+     * При асинхронной диспетчеризации Spring MVC объявляет типом ответа первый параметр обертки
+     * ({@code DeferredResult<T>}, {@code Callable<T>}, {@code WebAsyncTask<T>}, {@code CompletionStage<T>}),
+     * поэтому сериализатор нужно подготовить для {@code T}, а не для самой обертки.
+     *
+     * @param returnType Объявленный тип результата обработчика.
+     * @return тип тела ответа.
+     */
+    static Type asyncResultType(Type returnType) {
+        ResolvableType type = ResolvableType.forType(returnType);
+        Class<?> rawType = type.toClass();
+        for (Class<?> asyncType : ASYNC_RETURN_TYPES) {
+            if (asyncType.isAssignableFrom(rawType)) {
+                return type.getGeneric().getType();
+            }
+        }
+        return returnType;
+    }
+
+    /**
+     * Подготавливает сериализатор для объявленного типа тела.
+     *
+     * @param declaredType Объявленный тип тела.
+     */
+    private void warmUp(Type declaredType) {
+        Class<?> rawType = ResolvableType.forType(declaredType).resolve();
+        if (Objects.isNull(rawType) || rawType == void.class || rawType == Void.class
+                || CharSequence.class.isAssignableFrom(rawType)) {
+            return;
+        }
+        maskingWriters.computeIfAbsent(declaredType, this::createMaskingWriter);
+    }
+
+    /**
+     * Создает сериализатор с маскировкой для объявленного типа; для {@link HttpEntity} используется тип его тела.
+     *
+     * @param declaredType Объявленный тип тела.
+     * @return ObjectWriter
+     */
+    private ObjectWriter createMaskingWriter(Type declaredType) {
+        ResolvableType type = ResolvableType.forType(declaredType);
+        if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.as(HttpEntity.class).getGeneric(0);
+        }
+        return maskingMapper.writerFor(maskingMapper.constructType(type.getType()));
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.loggingmaskingstarter.core;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import org.example.loggingmaskingstarter.exception.StarterException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Модуль Jackson, подменяющий сериализаторы полей, помеченных {@link Masked}.
+ * Сериализаторы строятся один раз для каждого класса и кэшируются самим Jackson.
+ */
+public class MaskedFieldsModule extends SimpleModule {
+
+    /**
+     * Конструктор {@link MaskedFieldsModule}.
+     *
+     * @param maskers Мапа всех доступных маскировщиков.
+     */
+    public MaskedFieldsModule(Map<String, Masker> maskers) {
+        super("MaskedFieldsModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> beanProperties) {
+                for (BeanPropertyWriter writer : beanProperties) {
+                    Masked masked = writer.getAnnotation(Masked.class);
+                    if (Objects.isNull(masked)) {
+                        continue;
+                    }
+                    String path = beanDesc.getBeanClass().getSimpleName() + "." + writer.getName();
+                    Masker masker = maskers.get(masked.type());
+                    if (Objects.isNull(masker)) {
+                        throw new StarterException("Неизвестный тип маскировщика '" + masked.type()
+                                + "' в аннотации @Masked поля " + path,
+                                "Укажите в @Masked(type) имя класса одного из бинов Masker: " + maskers.keySet());
+                    }
+                    writer.assignSerializer(new MaskedValueSerializer(masker, new MaskingContext(path, masked.type())));
+                }
+                return beanProperties;
+            }
+        });
+    }
+}
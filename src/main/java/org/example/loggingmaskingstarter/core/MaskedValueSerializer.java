@@ -0,0 +1,42 @@
+package org.example.loggingmaskingstarter.core;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Сериализатор значения поля, помеченного {@link Masked}.
+ * Записывает значение в виде замаскированной строки.
+ */
+public class MaskedValueSerializer extends StdSerializer<Object> {
+
+    private final transient Masker masker;
+    private final transient MaskingContext context;
+
+    /**
+     * Конструктор {@link MaskedValueSerializer}.
+     *
+     * @param masker  Маскировщик, применяемый к значению.
+     * @param context Контекст маскирования поля.
+     */
+    public MaskedValueSerializer(Masker masker, MaskingContext context) {
+        super(Object.class);
+        this.masker = masker;
+        this.context = context;
+    }
+
+    /**
+     * Сериализует значение поля в замаскированную строку.
+     *
+     * @param value    Значение поля.
+     * @param gen      Генератор JSON.
+     * @param provider Провайдер сериализаторов.
+     * @throws IOException в случае ошибки записи.
+     */
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeString(masker.mask(String.valueOf(value), context));
+    }
+}
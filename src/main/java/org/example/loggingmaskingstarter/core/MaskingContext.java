@@ -4,6 +4,8 @@ package org.example.loggingmaskingstarter.core;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.regex.Pattern;
+
 /**
  * Класс, представляющий контекст для маскирования данных.
  * Содержит информацию о пути к данным и типе маскирования.
@@ -19,5 +21,19 @@ public class MaskingContext {
      * Тип маскирования, которое необходимо применить (например, "RegexMasker", "StarterMasker").
      */
     private String maskingType;
+    /**
+     * Скомпилированное регулярное выражение из правила маскировки (может отсутствовать).
+     */
+    private Pattern pattern;
+
+    /**
+     * Создает контекст без регулярного выражения.
+     *
+     * @param path        Путь к данным.
+     * @param maskingType Тип маскирования.
+     */
+    public MaskingContext(String path, String maskingType) {
+        this(path, maskingType, null);
+    }
 
 }
@@ -0,0 +1,40 @@
+package org.example.loggingmaskingstarter.core;
+
+/**
+ * Скомпилированное правило маскировки: маскировщик и готовый контекст для одного пути.
+ */
+public final class MaskingRule {
+
+    private final Masker masker;
+    private final MaskingContext context;
+
+    /**
+     * Конструктор {@link MaskingRule}.
+     *
+     * @param masker  Маскировщик.
+     * @param context Контекст маскирования.
+     */
+    public MaskingRule(Masker masker, MaskingContext context) {
+        this.masker = masker;
+        this.context = context;
+    }
+
+    /**
+     * Применяет правило к значению.
+     *
+     * @param input Входная строка.
+     * @return Замаскированная строка.
+     */
+    public String apply(String input) {
+        return masker.mask(input, context);
+    }
+
+    /**
+     * Возвращает контекст маскирования.
+     *
+     * @return MaskingContext
+     */
+    public MaskingContext context() {
+        return context;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.loggingmaskingstarter.core;
+
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Хранит актуальный скомпилированный набор правил маскировки, общий для HTTP- и Kafka-логирования.
+ * Новый набор сначала полностью проверяется и компилируется, затем атомарно подменяет текущий.
+ */
+public class MaskingRuleRegistry {
+
+    private final Map<String, Masker> maskers;
+    private volatile MaskingRules rules;
+    private long version;
+
+    /**
+     * Конструктор {@link MaskingRuleRegistry}.
+     *
+     * @param maskers        Мапа всех доступных маскировщиков.
+     * @param configs        Начальные правила маскировки.
+     * @param maskingEnabled Начальный признак включения маскировки.
+     */
+    public MaskingRuleRegistry(Map<String, Masker> maskers, Map<String, EndpointLoggingProperties.MaskingConfig> configs,
+                               boolean maskingEnabled) {
+        this.maskers = maskers;
+        this.rules = MaskingRules.compile(maskingEnabled, configs, maskers);
+    }
+
+    /**
+     * Возвращает текущий набор правил.
+     *
+     * @return MaskingRules
+     */
+    public MaskingRules current() {
+        return rules;
+    }
+
+    /**
+     * Проверяет, компилирует и применяет новые правила маскировки и признак ее включения одним снимком.
+     *
+     * @param maskingEnabled Новый признак включения маскировки (null - оставить текущий).
+     * @param configs        Новые правила маскировки (null - оставить текущие).
+     * @return примененный набор правил.
+     */
+    public synchronized MaskingRules update(Boolean maskingEnabled, Map<String, EndpointLoggingProperties.MaskingConfig> configs) {
+        boolean enabled = Objects.isNull(maskingEnabled) ? rules.maskingEnabled() : maskingEnabled;
+        MaskingRules compiled = Objects.isNull(configs)
+                ? rules.withMaskingEnabled(enabled)
+                : MaskingRules.compile(enabled, configs, maskers);
+        this.rules = compiled;
+        return compiled;
+    }
+
+    /**
+     * Проверяет, компилирует и применяет версионированные правила маскировки.
+     * Правила с версией не новее текущей игнорируются, поэтому повторная или запоздавшая доставка безопасна.
+     *
+     * @param version        Версия правил.
+     * @param maskingEnabled Признак включения маскировки (null - оставить текущий).
+     * @param configs        Новые правила маскировки.
+     * @return true, если правила применены.
+     */
+    public synchronized boolean update(long version, Boolean maskingEnabled,
+                                       Map<String, EndpointLoggingProperties.MaskingConfig> configs) {
+        if (version <= this.version) {
+            return false;
+        }
+        boolean enabled = Objects.isNull(maskingEnabled) ? rules.maskingEnabled() : maskingEnabled;
+        this.rules = MaskingRules.compile(enabled, configs, maskers);
+        this.version = version;
+        return true;
+    }
+
+    /**
+     * Возвращает версию последних примененных версионированных правил.
+     *
+     * @return версия (0, если версионированные правила не применялись).
+     */
+    public synchronized long version() {
+        return version;
+    }
+}
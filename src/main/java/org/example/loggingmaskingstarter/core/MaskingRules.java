@@ -0,0 +1,207 @@
+package org.example.loggingmaskingstarter.core;
+
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+import org.example.loggingmaskingstarter.exception.StarterException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Неизменяемый набор скомпилированных правил маскировки вместе с признаком включения маскировки.
+ * Создается и проверяется один раз, после чего используется HTTP- и Kafka-логированием без дополнительных проверок.
+ * Признак и правила подменяются одним снимком, поэтому читатель не увидит новые правила со старым признаком.
+ */
+public final class MaskingRules {
+
+    /**
+     * Пустой набор правил с выключенной маскировкой.
+     */
+    public static final MaskingRules EMPTY = new MaskingRules(false, null, null, null, null, Map.of(), Map.of());
+
+    private static final String REQUEST_BODY = "request.body";
+    private static final String RESPONSE_BODY = "response.body";
+    private static final String KAFKA_MESSAGE = "kafka.message";
+    private static final String LOG_MESSAGE = "log.message";
+    private static final String REQUEST_HEADERS_PREFIX = "request.headers.";
+    private static final String RESPONSE_HEADERS_PREFIX = "response.headers.";
+    private static final Pattern PATH_PATTERN = Pattern.compile(
+            "request\\.body|response\\.body|kafka\\.message|log\\.message|(request|response)\\.headers\\.[!#$%&'*+.^_`|~0-9A-Za-z-]+");
+    private static final String ACTION =
+            "Исправьте правило в 'endpoint.logging.maskingRules'. Ключи указываются в квадратных скобках, например "
+                    + "\"[request.body]\" или \"[request.headers.Authorization]\". Допустимые пути: [request.body], [response.body], "
+                    + "[kafka.message], [log.message], [request.headers.<имя>], [response.headers.<имя>]; maskingType должен "
+                    + "совпадать с именем класса бина Masker, pattern должен быть корректным регулярным выражением.";
+
+    private final boolean maskingEnabled;
+    private final MaskingRule requestBody;
+    private final MaskingRule responseBody;
+    private final MaskingRule kafkaMessage;
+    private final MaskingRule logMessage;
+    private final Map<String, MaskingRule> requestHeaders;
+    private final Map<String, MaskingRule> responseHeaders;
+
+    private MaskingRules(boolean maskingEnabled, MaskingRule requestBody, MaskingRule responseBody, MaskingRule kafkaMessage,
+                         MaskingRule logMessage, Map<String, MaskingRule> requestHeaders, Map<String, MaskingRule> responseHeaders) {
+        this.maskingEnabled = maskingEnabled;
+        this.requestBody = requestBody;
+        this.responseBody = responseBody;
+        this.kafkaMessage = kafkaMessage;
+        this.logMessage = logMessage;
+        this.requestHeaders = requestHeaders;
+        this.responseHeaders = responseHeaders;
+    }
+
+    /**
+     * Проверяет и компилирует правила маскировки.
+     *
+     * @param maskingEnabled Признак включения маскировки.
+     * @param configs        Правила маскировки из настроек.
+     * @param maskers        Мапа всех доступных маскировщиков.
+     * @return скомпилированный набор правил.
+     * @throws StarterException если правило некорректно.
+     */
+    public static MaskingRules compile(boolean maskingEnabled, Map<String, EndpointLoggingProperties.MaskingConfig> configs,
+                                       Map<String, Masker> maskers) {
+        if (Objects.isNull(configs) || configs.isEmpty()) {
+            return EMPTY.withMaskingEnabled(maskingEnabled);
+        }
+        MaskingRule requestBody = null;
+        MaskingRule responseBody = null;
+        MaskingRule kafkaMessage = null;
+        MaskingRule logMessage = null;
+        Map<String, MaskingRule> requestHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, MaskingRule> responseHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, EndpointLoggingProperties.MaskingConfig> entry : configs.entrySet()) {
+            String path = entry.getKey();
+            Pattern pattern = validate(path, entry.getValue());
+            String maskingType = entry.getValue().maskingType();
+            Masker masker = maskers.get(maskingType);
+            if (Objects.isNull(masker)) {
+                throw new StarterException("Неизвестный тип маскировщика '" + maskingType + "' в правиле '" + path
+                        + "'. Доступные типы: " + maskers.keySet(), ACTION);
+            }
+            MaskingRule rule = new MaskingRule(masker, new MaskingContext(path, maskingType, pattern));
+            switch (path) {
+                case REQUEST_BODY -> requestBody = rule;
+                case RESPONSE_BODY -> responseBody = rule;
+                case KAFKA_MESSAGE -> kafkaMessage = rule;
+                case LOG_MESSAGE -> logMessage = rule;
+                default -> {
+                    if (path.startsWith(REQUEST_HEADERS_PREFIX)) {
+                        requestHeaders.put(path.substring(REQUEST_HEADERS_PREFIX.length()), rule);
+                    } else {
+                        responseHeaders.put(path.substring(RESPONSE_HEADERS_PREFIX.length()), rule);
+                    }
+                }
+            }
+        }
+        return new MaskingRules(maskingEnabled, requestBody, responseBody, kafkaMessage, logMessage,
+                Collections.unmodifiableMap(requestHeaders), Collections.unmodifiableMap(responseHeaders));
+    }
+
+    /**
+     * Возвращает набор с теми же правилами и заданным признаком включения маскировки.
+     *
+     * @param maskingEnabled Признак включения маскировки.
+     * @return MaskingRules
+     */
+    public MaskingRules withMaskingEnabled(boolean maskingEnabled) {
+        if (maskingEnabled == this.maskingEnabled) {
+            return this;
+        }
+        return new MaskingRules(maskingEnabled, requestBody, responseBody, kafkaMessage, logMessage, requestHeaders, responseHeaders);
+    }
+
+    /**
+     * Проверяет путь и регулярное выражение правила, не требуя наличия бинов маскировщиков.
+     *
+     * @param path   Путь правила.
+     * @param config Настройки правила.
+     * @return скомпилированное регулярное выражение или null, если оно не задано.
+     * @throws StarterException если правило некорректно.
+     */
+    public static Pattern validate(String path, EndpointLoggingProperties.MaskingConfig config) {
+        if (Objects.isNull(path) || !PATH_PATTERN.matcher(path).matches()) {
+            throw new StarterException("Некорректный путь правила маскировки '" + path + "'", ACTION);
+        }
+        if (Objects.isNull(config) || Objects.isNull(config.maskingType()) || config.maskingType().isBlank()) {
+            throw new StarterException("Не указан maskingType в правиле маскировки '" + path + "'", ACTION);
+        }
+        if (Objects.isNull(config.pattern())) {
+            return null;
+        }
+        try {
+            return Pattern.compile(config.pattern());
+        } catch (PatternSyntaxException e) {
+            throw new StarterException("Некорректное регулярное выражение в правиле маскировки '" + path + "': "
+                    + e.getDescription(), ACTION);
+        }
+    }
+
+    /**
+     * Возвращает признак включения маскировки.
+     *
+     * @return boolean
+     */
+    public boolean maskingEnabled() {
+        return maskingEnabled;
+    }
+
+    /**
+     * Возвращает правило для тела запроса.
+     *
+     * @return правило или null, если оно не задано.
+     */
+    public MaskingRule requestBody() {
+        return requestBody;
+    }
+
+    /**
+     * Возвращает правило для тела ответа.
+     *
+     * @return правило или null, если оно не задано.
+     */
+    public MaskingRule responseBody() {
+        return responseBody;
+    }
+
+    /**
+     * Возвращает правило для сообщений Kafka.
+     *
+     * @return правило или null, если оно не задано.
+     */
+    public MaskingRule kafkaMessage() {
+        return kafkaMessage;
+    }
+
+    /**
+     * Возвращает правило для произвольных сообщений лога (Logback/Log4j2).
+     *
+     * @return правило или null, если оно не задано.
+     */
+    public MaskingRule logMessage() {
+        return logMessage;
+    }
+
+    /**
+     * Возвращает правила для заголовков запроса (имена заголовков без учета регистра).
+     *
+     * @return Map правил.
+     */
+    public Map<String, MaskingRule> requestHeaders() {
+        return requestHeaders;
+    }
+
+    /**
+     * Возвращает правила для заголовков ответа (имена заголовков без учета регистра).
+     *
+     * @return Map правил.
+     */
+    public Map<String, MaskingRule> responseHeaders() {
+        return responseHeaders;
+    }
+}
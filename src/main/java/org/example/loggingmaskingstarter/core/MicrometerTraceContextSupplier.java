@@ -0,0 +1,39 @@
+package org.example.loggingmaskingstarter.core;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Поставщик контекста трассировки из текущего спана Micrometer Tracing.
+ * Используется только при наличии Micrometer Tracing в приложении.
+ */
+public class MicrometerTraceContextSupplier implements Supplier<TraceContext> {
+
+    private final Tracer tracer;
+
+    /**
+     * Конструктор {@link MicrometerTraceContextSupplier}.
+     *
+     * @param tracer Трассировщик Micrometer.
+     */
+    public MicrometerTraceContextSupplier(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Возвращает контекст текущего спана.
+     *
+     * @return TraceContext или null, если активного спана нет.
+     */
+    @Override
+    public TraceContext get() {
+        Span span = tracer.currentSpan();
+        if (Objects.isNull(span)) {
+            return null;
+        }
+        return new TraceContext(span.context().traceId(), span.context().spanId(), null);
+    }
+}
@@ -3,20 +3,23 @@ package org.example.loggingmaskingstarter.core;
 import org.springframework.stereotype.Component;
 
 import java.util.Objects;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Реализация {@link Masker}, маскирующая данные с помощью регулярных выражений.
- * Заменяет все цифры, кроме последних четырёх, на '*'.
+ * По умолчанию заменяет все цифры, кроме последних четырёх, на '*'.
  */
 @Component
 public class RegexMasker implements Masker {
+
+    private static final Pattern DEFAULT_PATTERN = Pattern.compile("\\d(?=\\d{4})");
+
     /**
-     * Маскирует входную строку, заменяя все цифры, кроме последних четырёх, на '*'.
+     * Маскирует входную строку, заменяя совпадения регулярного выражения на '*'.
+     * Используется выражение из правила маскировки, а при его отсутствии - все цифры, кроме последних четырёх.
      *
      * @param input   Входная строка для маскирования.
-     * @param context Контекст маскирования, не используется в данной реализации.
+     * @param context Контекст маскирования с регулярным выражением правила.
      * @return Замаскированная строка.
      */
     @Override
@@ -24,8 +27,7 @@ public class RegexMasker implements Masker {
         if (Objects.isNull(input) || input.isEmpty()) {
             return input;
         }
-        Pattern pattern = Pattern.compile("\\d(?=\\d{4})");
-        Matcher matcher = pattern.matcher(input);
-        return matcher.replaceAll("*");
+        Pattern pattern = Objects.nonNull(context) && Objects.nonNull(context.getPattern()) ? context.getPattern() : DEFAULT_PATTERN;
+        return pattern.matcher(input).replaceAll("*");
     }
 }
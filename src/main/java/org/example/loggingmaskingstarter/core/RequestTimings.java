@@ -0,0 +1,77 @@
+package org.example.loggingmaskingstarter.core;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Временные отметки обработки одного HTTP-запроса на основе {@link System#nanoTime()}.
+ * Хранится в одном атрибуте запроса и переживает асинхронную диспетчеризацию.
+ */
+public class RequestTimings {
+
+    /**
+     * Атрибут запроса с временными отметками.
+     */
+    public static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private final long startNanos;
+    private long handlerEndNanos;
+
+    /**
+     * Конструктор {@link RequestTimings}.
+     *
+     * @param startNanos Время начала обработки запроса.
+     */
+    public RequestTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Возвращает временные отметки запроса.
+     *
+     * @param request HTTP-запрос.
+     * @return RequestTimings или null, если запрос не проходил через {@link LoggingInterceptor}.
+     */
+    public static RequestTimings of(HttpServletRequest request) {
+        Object timings = request.getAttribute(ATTRIBUTE);
+        return timings instanceof RequestTimings requestTimings ? requestTimings : null;
+    }
+
+    /**
+     * Отмечает завершение работы обработчика (начало сериализации ответа).
+     * Повторные вызовы игнорируются.
+     */
+    public void markHandlerEnd() {
+        if (handlerEndNanos == 0) {
+            handlerEndNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Возвращает время начала обработки запроса.
+     *
+     * @return время в наносекундах.
+     */
+    public long startNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Возвращает время работы обработчика.
+     *
+     * @param completionNanos Время завершения запроса.
+     * @return время в наносекундах.
+     */
+    public long handlerNanos(long completionNanos) {
+        return (handlerEndNanos == 0 ? completionNanos : handlerEndNanos) - startNanos;
+    }
+
+    /**
+     * Возвращает время сериализации ответа (от завершения обработчика до завершения запроса).
+     *
+     * @param completionNanos Время завершения запроса.
+     * @return время в наносекундах.
+     */
+    public long serializationNanos(long completionNanos) {
+        return handlerEndNanos == 0 ? 0 : completionNanos - handlerEndNanos;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.loggingmaskingstarter.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Снимок недавнего трафика: ограниченный кольцевой буфер незамаскированных записей успешных запросов.
+ * Разбит на полосы по потокам, чтобы потоки обработки запросов почти не конкурировали за блокировку.
+ * При инциденте записи полосы текущего потока извлекаются, маскируются и логируются.
+ * Записи не связаны с запросом-инцидентом: полоса содержит последние запросы любых клиентов и трассировок,
+ * обработанные потоками с тем же номером полосы, а не историю конкретного запроса или трассировки.
+ */
+public class TailLogBuffer {
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    /**
+     * Конструктор {@link TailLogBuffer}.
+     *
+     * @param capacityPerStripe Количество записей в одной полосе (0 отключает буферизацию).
+     */
+    public TailLogBuffer(int capacityPerStripe) {
+        int count = 1;
+        while (count < Runtime.getRuntime().availableProcessors()) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Math.max(capacityPerStripe, 0));
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Добавляет запись в полосу текущего потока, вытесняя самую старую при переполнении.
+     *
+     * @param httpLog Незамаскированная запись.
+     */
+    public void add(HttpLog httpLog) {
+        currentStripe().add(httpLog);
+    }
+
+    /**
+     * Извлекает и очищает записи полосы текущего потока.
+     *
+     * @return записи от самой старой к самой новой.
+     */
+    public List<HttpLog> drain() {
+        return currentStripe().drain();
+    }
+
+    /**
+     * Возвращает полосу текущего потока.
+     *
+     * @return Stripe
+     */
+    private Stripe currentStripe() {
+        return stripes[Long.hashCode(Thread.currentThread().getId()) & mask];
+    }
+
+    /**
+     * Одна полоса буфера - кольцевой массив фиксированного размера.
+     */
+    private static final class Stripe {
+
+        private final HttpLog[] entries;
+        private int head;
+        private int size;
+
+        Stripe(int capacity) {
+            this.entries = new HttpLog[capacity];
+        }
+
+        synchronized void add(HttpLog httpLog) {
+            if (entries.length == 0) {
+                return;
+            }
+            entries[(head + size) % entries.length] = httpLog;
+            if (size < entries.length) {
+                size++;
+            } else {
+                head = (head + 1) % entries.length;
+            }
+        }
+
+        synchronized List<HttpLog> drain() {
+            List<HttpLog> drained = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % entries.length;
+                drained.add(entries[index]);
+                entries[index] = null;
+            }
+            head = 0;
+            size = 0;
+            return drained;
+        }
+    }
+}
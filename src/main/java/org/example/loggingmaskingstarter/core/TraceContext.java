@@ -0,0 +1,112 @@
+package org.example.loggingmaskingstarter.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * Контекст трассировки записи лога: идентификаторы W3C Trace Context и идентификатор корреляции.
+ * Хранится в самой записи лога, поэтому не требует копирования MDC между потоками.
+ */
+@Getter
+@AllArgsConstructor
+public class TraceContext {
+    /**
+     * Заголовок W3C Trace Context.
+     */
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    /**
+     * Заголовок идентификатора корреляции.
+     */
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    /**
+     * Альтернативный заголовок идентификатора корреляции.
+     */
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final int TRACEPARENT_LENGTH = 55;
+    private static final String VERSION_00 = "00";
+    private static final String INVALID_VERSION = "ff";
+
+    /**
+     * Идентификатор трассы (32 hex-символа).
+     */
+    private String traceId;
+    /**
+     * Идентификатор спана (16 hex-символов).
+     */
+    private String spanId;
+    /**
+     * Идентификатор корреляции.
+     */
+    private String correlationId;
+
+    /**
+     * Разбирает заголовок traceparent формата {@code 00-<trace-id>-<span-id>-<flags>}.
+     * По W3C Trace Context поля состоят из hex-символов в нижнем регистре, версия ff недопустима,
+     * а идентификаторы трассы и спана не могут состоять из одних нулей.
+     *
+     * @param traceparent   Значение заголовка traceparent (может отсутствовать).
+     * @param correlationId Идентификатор корреляции (может отсутствовать).
+     * @return контекст трассировки; при некорректном заголовке идентификаторы трассы не заполняются.
+     */
+    public static TraceContext parse(String traceparent, String correlationId) {
+        if (!isValid(traceparent)) {
+            return new TraceContext(null, null, correlationId);
+        }
+        String traceId = traceparent.substring(3, 35);
+        return new TraceContext(traceId, traceparent.substring(36, 52), Objects.requireNonNullElse(correlationId, traceId));
+    }
+
+    /**
+     * Проверяет заголовок traceparent по W3C Trace Context.
+     * Заголовки будущих версий могут быть длиннее и содержать дополнительные поля после флагов.
+     *
+     * @param traceparent Значение заголовка traceparent.
+     * @return true, если заголовок корректен.
+     */
+    private static boolean isValid(String traceparent) {
+        if (Objects.isNull(traceparent) || traceparent.length() < TRACEPARENT_LENGTH
+                || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return false;
+        }
+        String version = traceparent.substring(0, 2);
+        if (!isLowerHex(version) || INVALID_VERSION.equals(version)) {
+            return false;
+        }
+        if (VERSION_00.equals(version) ? traceparent.length() != TRACEPARENT_LENGTH
+                : traceparent.length() > TRACEPARENT_LENGTH && traceparent.charAt(TRACEPARENT_LENGTH) != '-') {
+            return false;
+        }
+        return isNonZeroLowerHex(traceparent.substring(3, 35))
+                && isNonZeroLowerHex(traceparent.substring(36, 52))
+                && isLowerHex(traceparent.substring(53, 55));
+    }
+
+    /**
+     * Проверяет, что значение состоит из hex-символов в нижнем регистре и не состоит из одних нулей.
+     *
+     * @param value Проверяемое значение.
+     * @return boolean
+     */
+    private static boolean isNonZeroLowerHex(String value) {
+        return isLowerHex(value) && value.chars().anyMatch(c -> c != '0');
+    }
+
+    /**
+     * Проверяет, что значение состоит из hex-символов в нижнем регистре.
+     *
+     * @param value Проверяемое значение.
+     * @return boolean
+     */
+    private static boolean isLowerHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.loggingmaskingstarter.core;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Определяет контекст трассировки записи лога.
+ * Предпочитается текущий спан (например, из Micrometer Tracing): он уже продолжает входящий traceparent
+ * и совпадает с идентификаторами в остальных логах приложения. Заголовок traceparent используется,
+ * только если текущего спана нет.
+ */
+public class TraceContextResolver {
+
+    private final Supplier<TraceContext> currentContext;
+
+    /**
+     * Конструктор {@link TraceContextResolver}.
+     *
+     * @param currentContext Поставщик контекста текущего спана (может быть null).
+     */
+    public TraceContextResolver(Supplier<TraceContext> currentContext) {
+        this.currentContext = currentContext;
+    }
+
+    /**
+     * Определяет контекст трассировки.
+     *
+     * @param headers Функция получения значения заголовка по имени.
+     * @return TraceContext
+     */
+    public TraceContext resolve(Function<String, String> headers) {
+        String correlationId = headers.apply(TraceContext.CORRELATION_ID_HEADER);
+        if (Objects.isNull(correlationId)) {
+            correlationId = headers.apply(TraceContext.REQUEST_ID_HEADER);
+        }
+        TraceContext current = Objects.isNull(currentContext) ? null : currentContext.get();
+        if (Objects.nonNull(current) && Objects.nonNull(current.getTraceId())) {
+            return new TraceContext(current.getTraceId(), current.getSpanId(),
+                    Objects.requireNonNullElse(correlationId, current.getTraceId()));
+        }
+        return TraceContext.parse(headers.apply(TraceContext.TRACEPARENT_HEADER), correlationId);
+    }
+}
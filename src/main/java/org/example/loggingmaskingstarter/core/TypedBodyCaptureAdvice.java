@@ -0,0 +1,128 @@
+package org.example.loggingmaskingstarter.core;
+
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+
+/**
+ * Сохраняет типизированные тела запроса ({@code @RequestBody}) и ответа обработчика в атрибутах запроса,
+ * чтобы {@link LoggingInterceptor} мог логировать их без повторного разбора сырых байтов.
+ */
+@ControllerAdvice
+public class TypedBodyCaptureAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+
+    /**
+     * Атрибут запроса с типизированным телом запроса.
+     */
+    public static final String REQUEST_BODY_ATTRIBUTE = TypedBodyCaptureAdvice.class.getName() + ".requestBody";
+    /**
+     * Атрибут запроса с типизированным телом ответа.
+     */
+    public static final String RESPONSE_BODY_ATTRIBUTE = TypedBodyCaptureAdvice.class.getName() + ".responseBody";
+    /**
+     * Атрибут запроса с объявленным в обработчике типом тела запроса.
+     */
+    public static final String REQUEST_BODY_TYPE_ATTRIBUTE = TypedBodyCaptureAdvice.class.getName() + ".requestBodyType";
+    /**
+     * Атрибут запроса с объявленным в обработчике типом тела ответа.
+     */
+    public static final String RESPONSE_BODY_TYPE_ATTRIBUTE = TypedBodyCaptureAdvice.class.getName() + ".responseBodyType";
+
+    private final EndpointLoggingProperties properties;
+
+    /**
+     * Конструктор {@link TypedBodyCaptureAdvice}.
+     *
+     * @param properties Настройки логирования и маскирования.
+     */
+    public TypedBodyCaptureAdvice(EndpointLoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Определяет, нужно ли сохранять тело запроса.
+     *
+     * @param methodParameter Параметр метода обработчика.
+     * @param targetType      Целевой тип тела.
+     * @param converterType   Тип конвертера сообщения.
+     * @return true, если включено логирование типизированных тел.
+     */
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.typedBodyLogging();
+    }
+
+    /**
+     * Сохраняет прочитанное тело запроса и его объявленный тип в атрибутах запроса.
+     *
+     * @param body          Тело запроса.
+     * @param inputMessage  HTTP-сообщение запроса.
+     * @param parameter     Параметр метода обработчика.
+     * @param targetType    Целевой тип тела.
+     * @param converterType Тип конвертера сообщения.
+     * @return Тело запроса без изменений.
+     */
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        attributes.setAttribute(REQUEST_BODY_ATTRIBUTE, body, RequestAttributes.SCOPE_REQUEST);
+        attributes.setAttribute(REQUEST_BODY_TYPE_ATTRIBUTE, targetType, RequestAttributes.SCOPE_REQUEST);
+        return body;
+    }
+
+    /**
+     * Определяет, нужно ли обрабатывать тело ответа.
+     * Вызывается для всех ответов, чтобы отметить начало сериализации.
+     *
+     * @param returnType    Тип возвращаемого значения обработчика.
+     * @param converterType Тип конвертера сообщения.
+     * @return true
+     */
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Отмечает начало сериализации ответа и, если включено логирование типизированных тел,
+     * сохраняет возвращаемое значение обработчика и его объявленный тип в атрибутах запроса.
+     *
+     * @param body                  Тело ответа.
+     * @param returnType            Тип возвращаемого значения обработчика.
+     * @param selectedContentType   Выбранный тип содержимого.
+     * @param selectedConverterType Выбранный тип конвертера.
+     * @param request               HTTP-запрос.
+     * @param response              HTTP-ответ.
+     * @return Тело ответа без изменений.
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            RequestTimings timings = RequestTimings.of(servletRequest.getServletRequest());
+            if (timings != null) {
+                timings.markHandlerEnd();
+            }
+            if (properties.typedBodyLogging() && body != null) {
+                servletRequest.getServletRequest().setAttribute(RESPONSE_BODY_ATTRIBUTE, body);
+                servletRequest.getServletRequest().setAttribute(RESPONSE_BODY_TYPE_ATTRIBUTE, returnType.getGenericParameterType());
+            }
+        }
+        return body;
+    }
+}
@@ -4,12 +4,38 @@ package org.example.loggingmaskingstarter.exception;
  * Пользовательское исключение, выбрасываемое при ошибках в стартере.
  */
 public class StarterException extends RuntimeException{
+
+    private static final String DEFAULT_ACTION =
+            "Укажите верные значения для свойства в файле конфигурации. Допустимые значения: true или false.";
+
+    private final String action;
+
     /**
      * Создает экземпляр {@link StarterException} с заданным сообщением.
      *
      * @param message Сообщение об ошибке.
      */
     public StarterException(String message) {
+        this(message, DEFAULT_ACTION);
+    }
+
+    /**
+     * Создает экземпляр {@link StarterException} с заданным сообщением и рекомендацией по исправлению.
+     *
+     * @param message Сообщение об ошибке.
+     * @param action  Рекомендация по исправлению ошибки.
+     */
+    public StarterException(String message, String action) {
         super(message);
+        this.action = action;
+    }
+
+    /**
+     * Возвращает рекомендацию по исправлению ошибки.
+     *
+     * @return рекомендация.
+     */
+    public String getAction() {
+        return action;
     }
 }
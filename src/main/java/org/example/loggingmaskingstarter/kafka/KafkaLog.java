@@ -0,0 +1,51 @@
+package org.example.loggingmaskingstarter.kafka;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Класс для хранения информации о сообщении Kafka для логирования.
+ */
+@Getter
+@Setter
+public class KafkaLog {
+    /**
+     * Топик сообщения.
+     */
+    private String topic;
+    /**
+     * Партиция сообщения.
+     */
+    private int partition;
+    /**
+     * Смещение сообщения.
+     */
+    private long offset;
+    /**
+     * Идентификатор трассы W3C.
+     */
+    private String traceId;
+    /**
+     * Идентификатор спана W3C.
+     */
+    private String spanId;
+    /**
+     * Идентификатор корреляции.
+     */
+    private String correlationId;
+    /**
+     * Сообщение.
+     */
+    private String message;
+
+    /**
+     * Выводит сообщение в виде строки.
+     * @return сообщение.
+     */
+    @Override
+    public String toString() {
+        return "топик: " + topic + ", партиция: " + partition + ", смещение: " + offset
+                + ", traceId: " + traceId + ", spanId: " + spanId + ", correlationId: " + correlationId
+                + ", сообщение: " + message;
+    }
+}
@@ -1,18 +1,23 @@
 package org.example.loggingmaskingstarter.kafka;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
-import org.example.loggingmaskingstarter.core.Masker;
-import org.example.loggingmaskingstarter.core.MaskingContext;
+import org.example.loggingmaskingstarter.core.LogAggregator;
+import org.example.loggingmaskingstarter.core.LogFingerprint;
+import org.example.loggingmaskingstarter.core.MaskingRule;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.example.loggingmaskingstarter.core.MaskingRuleRegistry;
+import org.example.loggingmaskingstarter.core.MaskingRules;
+import org.example.loggingmaskingstarter.core.TraceContext;
+import org.example.loggingmaskingstarter.core.TraceContextResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Слушатель Kafka, который логирует и маскирует сообщения.
@@ -20,36 +25,78 @@ import java.util.Optional;
 @Component
 public class KafkaLoggingListener {
     private static final Logger log = LoggerFactory.getLogger(KafkaLoggingListener.class);
-    private final EndpointLoggingProperties properties;
     private final ObjectMapper objectMapper;
-    private final Map<String, Masker> maskers;
+    private final MaskingRuleRegistry maskingRuleRegistry;
+    private final TraceContextResolver traceContextResolver;
+    private final LogAggregator logAggregator;
 
     /**
      * Конструктор {@link KafkaLoggingListener}.
      *
-     * @param properties  Настройки логирования и маскирования.
      * @param objectMapper  Объект для сериализации и десериализации JSON.
-     * @param maskers Мапа всех доступных маскировщиков.
+     * @param maskingRuleRegistry Реестр скомпилированных правил маскировки.
+     * @param traceContextResolver Определитель контекста трассировки.
+     * @param logAggregator Агрегатор повторяющихся записей.
      */
-    public KafkaLoggingListener(EndpointLoggingProperties properties, ObjectMapper objectMapper, Map<String, Masker> maskers) {
-        this.properties = properties;
+    public KafkaLoggingListener(ObjectMapper objectMapper, MaskingRuleRegistry maskingRuleRegistry,
+                                TraceContextResolver traceContextResolver, LogAggregator logAggregator) {
         this.objectMapper = objectMapper;
-        this.maskers = maskers;
+        this.maskingRuleRegistry = maskingRuleRegistry;
+        this.traceContextResolver = traceContextResolver;
+        this.logAggregator = logAggregator;
     }
     /**
      * Обрабатывает сообщения из Kafka.
      *
-     * @param message Сообщение из Kafka.
+     * @param record Запись Kafka с сообщением, топиком, партицией, смещением и заголовками.
      */
     @KafkaListener(topics = "test-topic")
-    public void receive(@Payload String message) {
-        if (Objects.isNull(message) || !properties.maskingEnabled()) {
-            log.info("Сообщение из Kafka: {}", message);
-            return;
+    public void receive(ConsumerRecord<?, String> record) {
+        String message = record.value();
+        if (Objects.nonNull(message)) {
+            message = maskMessage(message);
         }
-        String maskedMessage = maskMessage(message);
-        log.info("Сообщение из Kafka: {}", maskedMessage);
+        KafkaLog kafkaLog = createMessage(record, message);
+        LogFingerprint fingerprint = new LogFingerprint("kafka", null, record.topic(), 0, Objects.hashCode(message));
+        // отрицательная метка времени означает ее отсутствие (NO_TIMESTAMP) - задержку доставки не учитываем
+        long deliveryNanos = record.timestamp() < 0
+                ? 0
+                : TimeUnit.MILLISECONDS.toNanos(Math.max(System.currentTimeMillis() - record.timestamp(), 0));
+        if (logAggregator.record(fingerprint, "Сообщение из Kafka: " + kafkaLog, deliveryNanos)) {
+            log.info("Сообщение из Kafka: {}", kafkaLog);
+        }
+    }
 
+    /**
+     * Создает запись лога Kafka.
+     *
+     * @param record  Запись Kafka.
+     * @param message Сообщение (замаскированное, если необходимо).
+     * @return KafkaLog
+     */
+    private KafkaLog createMessage(ConsumerRecord<?, String> record, String message) {
+        TraceContext traceContext = traceContextResolver.resolve(name -> header(record, name));
+        KafkaLog kafkaLog = new KafkaLog();
+        kafkaLog.setTopic(record.topic());
+        kafkaLog.setPartition(record.partition());
+        kafkaLog.setOffset(record.offset());
+        kafkaLog.setTraceId(traceContext.getTraceId());
+        kafkaLog.setSpanId(traceContext.getSpanId());
+        kafkaLog.setCorrelationId(traceContext.getCorrelationId());
+        kafkaLog.setMessage(message);
+        return kafkaLog;
+    }
+
+    /**
+     * Возвращает значение последнего заголовка записи Kafka с указанным именем.
+     *
+     * @param record Запись Kafka.
+     * @param name   Имя заголовка.
+     * @return значение заголовка или null.
+     */
+    private String header(ConsumerRecord<?, String> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return Objects.isNull(header) || Objects.isNull(header.value()) ? null : new String(header.value(), StandardCharsets.UTF_8);
     }
 
     /**
@@ -59,10 +106,8 @@ public class KafkaLoggingListener {
      * @return Замаскированное сообщение.
      */
     private String maskMessage(String message){
-        if(Objects.isNull(properties.maskingRules())){
-            return message;
-        }
-        String maskingType = Optional.ofNullable(properties.maskingRules().get("kafka.message")).map(EndpointLoggingProperties.MaskingConfig::maskingType).orElse("");
-        return Optional.ofNullable(maskers.get(maskingType)).map(masker -> masker.mask(message, new MaskingContext("kafka.message", maskingType))).orElse(message);
+        MaskingRules rules = maskingRuleRegistry.current();
+        MaskingRule rule = rules.kafkaMessage();
+        return !rules.maskingEnabled() || Objects.isNull(rule) ? message : rule.apply(message);
     }
 }
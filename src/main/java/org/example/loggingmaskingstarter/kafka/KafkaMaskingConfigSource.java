@@ -0,0 +1,172 @@
+package org.example.loggingmaskingstarter.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.example.loggingmaskingstarter.sync.MaskingConfigSnapshot;
+import org.example.loggingmaskingstarter.sync.MaskingConfigSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Источник конфигурации маскировки в компактифицируемом топике Kafka.
+ * Каждый узел назначает себе все партиции топика вручную, без группы потребителей, и читает их с начала,
+ * поэтому после старта сразу получает последний снимок, а затем - все новые.
+ * Смещения не фиксируются, и в брокере не остаются группы остановленных узлов.
+ * Пока топик не создан или брокер недоступен, попытки получить его партиции повторяются с растущей паузой.
+ * Партиции, добавленные в топик после старта, не отслеживаются.
+ */
+public class KafkaMaskingConfigSource implements MaskingConfigSource {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaMaskingConfigSource.class);
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final long INITIAL_RETRY_BACKOFF_MS = 1_000;
+    private static final long MAX_RETRY_BACKOFF_MS = 60_000;
+
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private final String topic;
+    private final ObjectMapper objectMapper;
+    private volatile boolean running;
+    private volatile org.apache.kafka.clients.consumer.Consumer<?, ?> consumer;
+    private volatile Thread poller;
+
+    /**
+     * Конструктор {@link KafkaMaskingConfigSource}.
+     *
+     * @param consumerFactory Фабрика потребителей Kafka приложения.
+     * @param topic           Топик с конфигурацией маскировки.
+     * @param objectMapper    Объект для десериализации JSON.
+     */
+    public KafkaMaskingConfigSource(ConsumerFactory<?, ?> consumerFactory, String topic, ObjectMapper objectMapper) {
+        this.consumerFactory = consumerFactory;
+        this.topic = topic;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Запускает поток чтения топика.
+     *
+     * @param listener Получатель новых снимков конфигурации.
+     */
+    @Override
+    public void start(Consumer<MaskingConfigSnapshot> listener) {
+        running = true;
+        Thread thread = new Thread(() -> poll(listener), "endpoint-logging-config-kafka");
+        thread.setDaemon(true);
+        poller = thread;
+        thread.start();
+    }
+
+    /**
+     * Останавливает поток чтения топика, прерывая ожидание потребителя и паузу между попытками.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        org.apache.kafka.clients.consumer.Consumer<?, ?> current = consumer;
+        if (Objects.nonNull(current)) {
+            current.wakeup();
+        }
+        Thread thread = poller;
+        if (Objects.nonNull(thread)) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Назначает все партиции топика, перематывает их в начало и передает снимки получателю до остановки.
+     *
+     * @param listener Получатель новых снимков конфигурации.
+     */
+    private void poll(Consumer<MaskingConfigSnapshot> listener) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        try (org.apache.kafka.clients.consumer.Consumer<?, ?> kafkaConsumer =
+                     consumerFactory.createConsumer(null, null, null, overrides)) {
+            consumer = kafkaConsumer;
+            List<TopicPartition> partitions = awaitPartitions(kafkaConsumer);
+            if (partitions.isEmpty()) {
+                return;
+            }
+            kafkaConsumer.assign(partitions);
+            kafkaConsumer.seekToBeginning(partitions);
+            while (running) {
+                for (ConsumerRecord<?, ?> record : kafkaConsumer.poll(POLL_TIMEOUT)) {
+                    receive(record.value(), listener);
+                }
+            }
+        } catch (WakeupException | InterruptException e) {
+            // источник остановлен
+        } catch (KafkaException e) {
+            log.error("Чтение конфигурации маскировки из топика {} остановлено", topic, e);
+        } finally {
+            consumer = null;
+        }
+    }
+
+    /**
+     * Получает партиции топика, повторяя попытки с экспоненциальной паузой, пока топик не появится или источник не остановят.
+     *
+     * @param kafkaConsumer Потребитель Kafka.
+     * @return партиции топика или пустой список, если источник остановлен.
+     */
+    private List<TopicPartition> awaitPartitions(org.apache.kafka.clients.consumer.Consumer<?, ?> kafkaConsumer) {
+        long backoff = INITIAL_RETRY_BACKOFF_MS;
+        while (running) {
+            try {
+                List<PartitionInfo> partitionInfos = kafkaConsumer.partitionsFor(topic);
+                if (Objects.nonNull(partitionInfos) && !partitionInfos.isEmpty()) {
+                    return partitionInfos.stream()
+                            .map(info -> new TopicPartition(topic, info.partition()))
+                            .toList();
+                }
+                log.warn("Топик конфигурации маскировки {} не найден, повторная попытка через {} мс", topic, backoff);
+            } catch (TimeoutException e) {
+                log.warn("Не удалось получить партиции топика конфигурации маскировки {}, повторная попытка через {} мс",
+                        topic, backoff);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.of();
+            }
+            backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+        }
+        return List.of();
+    }
+
+    /**
+     * Обрабатывает снимок конфигурации из топика.
+     *
+     * @param message  JSON-снимок конфигурации (null для удаленных ключей компактифицируемого топика).
+     * @param listener Получатель новых снимков конфигурации.
+     */
+    private void receive(Object message, Consumer<MaskingConfigSnapshot> listener) {
+        if (Objects.isNull(message)) {
+            return;
+        }
+        try {
+            listener.accept(objectMapper.readValue(message.toString(), MaskingConfigSnapshot.class));
+        } catch (JsonProcessingException e) {
+            log.error("Не удалось разобрать конфигурацию маскировки из Kafka", e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.loggingmaskingstarter.logging;
+
+import org.example.loggingmaskingstarter.core.LogAggregator;
+import org.example.loggingmaskingstarter.core.LoggingInterceptor;
+import org.example.loggingmaskingstarter.core.MaskingRule;
+import org.example.loggingmaskingstarter.core.MaskingRuleRegistry;
+import org.example.loggingmaskingstarter.core.MaskingRules;
+import org.example.loggingmaskingstarter.kafka.KafkaLoggingListener;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Маскировка произвольных сообщений лога по правилу {@code log.message}.
+ * Используется расширениями Logback ({@link MaskingMessageConverter}) и Log4j2 ({@link MaskingRewritePolicy}),
+ * которые создаются самой системой логирования, поэтому текущий экземпляр доступен статически.
+ * Сообщения без цифр и без маркеров чувствительных ключей пропускаются без маскировки.
+ * Записи собственных логгеров стартера уже замаскированы правилами HTTP и Kafka и повторно не маскируются,
+ * иначе правило {@code log.message} испортило бы тайминги, смещения и идентификаторы трассировки в них.
+ * При закрытии контекста экземпляр снимает себя, если его еще не заменил экземпляр другого контекста.
+ */
+public class LogMessageMasking implements DisposableBean {
+
+    private static final AtomicReference<LogMessageMasking> INSTANCE = new AtomicReference<>();
+    private static final Set<String> STARTER_LOGGERS = Set.of(LoggingInterceptor.class.getName(),
+            KafkaLoggingListener.class.getName(), LogAggregator.class.getName());
+
+    private final MaskingRuleRegistry maskingRuleRegistry;
+    private final String[] markers;
+
+    /**
+     * Конструктор {@link LogMessageMasking}.
+     *
+     * @param maskingRuleRegistry Реестр скомпилированных правил маскировки.
+     * @param markers             Маркеры чувствительных ключей (например, "password").
+     */
+    public LogMessageMasking(MaskingRuleRegistry maskingRuleRegistry, List<String> markers) {
+        this.maskingRuleRegistry = maskingRuleRegistry;
+        this.markers = Objects.isNull(markers) ? new String[0] : markers.toArray(String[]::new);
+    }
+
+    /**
+     * Делает экземпляр доступным для расширений системы логирования.
+     *
+     * @param masking Экземпляр маскировки (null отключает маскировку сообщений).
+     */
+    public static void install(LogMessageMasking masking) {
+        INSTANCE.set(masking);
+    }
+
+    /**
+     * Проверяет, нужно ли маскировать записи логгера.
+     *
+     * @param loggerName Имя логгера.
+     * @return false для собственных логгеров стартера, записи которых уже замаскированы.
+     */
+    public static boolean shouldMask(String loggerName) {
+        return !STARTER_LOGGERS.contains(loggerName);
+    }
+
+    /**
+     * Маскирует сообщение лога текущим установленным экземпляром.
+     *
+     * @param message Сообщение лога.
+     * @return Замаскированное сообщение или исходное, если маскировка не требуется.
+     */
+    public static String maskMessage(String message) {
+        LogMessageMasking masking = INSTANCE.get();
+        return Objects.isNull(masking) ? message : masking.mask(message);
+    }
+
+    /**
+     * Снимает экземпляр при закрытии контекста, чтобы система логирования не удерживала его и закрытый реестр правил.
+     */
+    @Override
+    public void destroy() {
+        INSTANCE.compareAndSet(this, null);
+    }
+
+    /**
+     * Маскирует сообщение лога.
+     *
+     * @param message Сообщение лога.
+     * @return Замаскированное сообщение или исходное, если маскировка не требуется.
+     */
+    public String mask(String message) {
+        if (Objects.isNull(message) || message.isEmpty()) {
+            return message;
+        }
+        MaskingRules rules = maskingRuleRegistry.current();
+        if (!rules.maskingEnabled()) {
+            return message;
+        }
+        MaskingRule rule = rules.logMessage();
+        if (Objects.isNull(rule) || !mayContainSensitiveData(message)) {
+            return message;
+        }
+        return rule.apply(message);
+    }
+
+    /**
+     * Быстрая предварительная проверка: содержит ли сообщение цифры или маркеры чувствительных ключей.
+     *
+     * @param message Сообщение лога.
+     * @return true, если сообщение нужно маскировать.
+     */
+    private boolean mayContainSensitiveData(String message) {
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c >= '0' && c <= '9') {
+                return true;
+            }
+        }
+        for (String marker : markers) {
+            int last = message.length() - marker.length();
+            for (int i = 0; i <= last; i++) {
+                if (message.regionMatches(true, i, marker, 0, marker.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
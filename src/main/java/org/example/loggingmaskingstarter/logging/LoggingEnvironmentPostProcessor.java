@@ -1,22 +1,39 @@
 package org.example.loggingmaskingstarter.logging;
 
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
 import org.example.loggingmaskingstarter.core.LoggingInterceptor;
+import org.example.loggingmaskingstarter.core.MaskingRules;
 import org.example.loggingmaskingstarter.exception.StarterException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
 import org.springframework.boot.env.EnvironmentPostProcessor;
 import org.springframework.core.env.ConfigurableEnvironment;
 
+import java.util.Set;
+
 /**
- * Post-processor для проверки свойства 'endpoint.logging.active' в конфигурации.
+ * Post-processor для проверки свойства 'endpoint.logging.active' и правил маскировки в конфигурации.
  */
 public class LoggingEnvironmentPostProcessor implements EnvironmentPostProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(LoggingInterceptor.class);
+    private static final ConfigurationPropertyName MASKING_RULES = ConfigurationPropertyName.of("endpoint.logging.masking-rules");
+    private static final Set<String> RULE_FIELDS = Set.of("maskingtype", "pattern");
+    private static final String KEY_ACTION =
+            "Указывайте ключи правил в 'endpoint.logging.maskingRules' в квадратных скобках, например "
+                    + "\"[request.body]\" или \"[request.headers.Authorization]\"; внутри правила допустимы только maskingType и pattern.";
 
     /**
-     * Проверяет, что свойство `endpoint.logging.active` имеет допустимое значение (true или false).
+     * Проверяет, что свойство `endpoint.logging.active` имеет допустимое значение (true или false),
+     * ключи правил `endpoint.logging.maskingRules` указаны в квадратных скобках,
+     * а пути и регулярные выражения правил корректны.
      * Выбрасывает исключение, если значение некорректно.
      *
      * @param environment Окружение приложения.
@@ -32,5 +49,33 @@ public class LoggingEnvironmentPostProcessor implements EnvironmentPostProcessor
                 && !enabledPropertyValue.equalsIgnoreCase("false")) {
             throw new StarterException("Ошибка во время проверки свойства 'endpoint.logging.active' в файле конфигурации. Допустимые значения: true или false.");
         }
+        validateRuleNames(ConfigurationPropertySources.get(environment));
+        Binder.get(environment)
+                .bind("endpoint.logging.masking-rules", Bindable.mapOf(String.class, EndpointLoggingProperties.MaskingConfig.class))
+                .ifBound(rules -> rules.forEach(MaskingRules::validate));
+    }
+
+    /**
+     * Проверяет исходные имена свойств правил маскировки до привязки.
+     * Ключ без квадратных скобок ({@code masking-rules.request.body.masking-type}) Spring Boot обрезает до первой точки,
+     * после чего правило молча отбрасывается при привязке, поэтому проверяется глубина каждого имени:
+     * корень, один ключ правила и поле {@code masking-type} или {@code pattern}.
+     *
+     * @param sources Источники свойств окружения.
+     * @throws StarterException если имя свойства не соответствует этой структуре.
+     */
+    static void validateRuleNames(Iterable<ConfigurationPropertySource> sources) {
+        int depth = MASKING_RULES.getNumberOfElements() + 2;
+        for (ConfigurationPropertySource source : sources) {
+            if (!(source instanceof IterableConfigurationPropertySource iterableSource)) {
+                continue;
+            }
+            iterableSource.filter(MASKING_RULES::isAncestorOf).forEach(name -> {
+                if (name.getNumberOfElements() != depth
+                        || !RULE_FIELDS.contains(name.getLastElement(ConfigurationPropertyName.Form.UNIFORM))) {
+                    throw new StarterException("Некорректное свойство правила маскировки '" + name + "'", KEY_ACTION);
+                }
+            });
+        }
     }
 }
@@ -17,8 +17,6 @@ public class LoggingFailureAnalyzer extends AbstractFailureAnalyzer<StarterExcep
      */
     @Override
     protected FailureAnalysis analyze(Throwable rootFailure, StarterException cause) {
-        return new FailureAnalysis(cause.getMessage(),
-                "Укажите верные значения для свойства в файле конфигурации. Допустимые значения: true или false.",
-                cause);
+        return new FailureAnalysis(cause.getMessage(), cause.getAction(), cause);
     }
 }
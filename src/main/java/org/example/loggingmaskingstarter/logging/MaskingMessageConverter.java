@@ -0,0 +1,29 @@
+package org.example.loggingmaskingstarter.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Конвертер Logback, маскирующий сообщение лога по правилу {@code log.message}.
+ * Подключение в logback-spring.xml регистрируется для всех синонимов сообщения ({@code %m}, {@code %msg}, {@code %message}),
+ * иначе шаблон с незарегистрированным синонимом выведет сообщение без маскировки:
+ * <pre>{@code
+ * <conversionRule conversionWord="m" converterClass="org.example.loggingmaskingstarter.logging.MaskingMessageConverter"/>
+ * <conversionRule conversionWord="msg" converterClass="org.example.loggingmaskingstarter.logging.MaskingMessageConverter"/>
+ * <conversionRule conversionWord="message" converterClass="org.example.loggingmaskingstarter.logging.MaskingMessageConverter"/>
+ * }</pre>
+ */
+public class MaskingMessageConverter extends MessageConverter {
+
+    /**
+     * Возвращает замаскированное сообщение события; записи логгеров стартера возвращаются без изменений.
+     *
+     * @param event Событие лога.
+     * @return Замаскированное сообщение.
+     */
+    @Override
+    public String convert(ILoggingEvent event) {
+        String message = super.convert(event);
+        return LogMessageMasking.shouldMask(event.getLoggerName()) ? LogMessageMasking.maskMessage(message) : message;
+    }
+}
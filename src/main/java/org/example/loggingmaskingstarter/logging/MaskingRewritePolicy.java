@@ -0,0 +1,47 @@
+package org.example.loggingmaskingstarter.logging;
+
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.rewrite.RewritePolicy;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+
+/**
+ * Политика Log4j2 для {@code Rewrite}-аппендера, маскирующая сообщение лога по правилу {@code log.message}.
+ * Подключение в log4j2-spring.xml: {@code <Rewrite name="masked"><MaskingRewritePolicy/><AppenderRef ref="console"/></Rewrite>}
+ */
+@Plugin(name = "MaskingRewritePolicy", category = Core.CATEGORY_NAME, elementType = "rewritePolicy", printObject = true)
+public final class MaskingRewritePolicy implements RewritePolicy {
+
+    /**
+     * Создает политику.
+     *
+     * @return MaskingRewritePolicy
+     */
+    @PluginFactory
+    public static MaskingRewritePolicy createPolicy() {
+        return new MaskingRewritePolicy();
+    }
+
+    /**
+     * Возвращает событие с замаскированным сообщением или исходное событие, если маскировка не требуется
+     * (в том числе для записей логгеров стартера).
+     *
+     * @param source Исходное событие лога.
+     * @return LogEvent
+     */
+    @Override
+    public LogEvent rewrite(LogEvent source) {
+        if (!LogMessageMasking.shouldMask(source.getLoggerName())) {
+            return source;
+        }
+        String message = source.getMessage().getFormattedMessage();
+        String masked = LogMessageMasking.maskMessage(message);
+        if (masked == message) {
+            return source;
+        }
+        return new Log4jLogEvent.Builder(source).setMessage(new SimpleMessage(masked)).build();
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.loggingmaskingstarter.sync;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Источник конфигурации маскировки в JSON-файле (например, на общем диске).
+ * Изменения отслеживаются через {@link WatchService}; дополнительно время изменения файла
+ * проверяется периодически, так как сетевые файловые системы не всегда присылают события.
+ */
+public class FileMaskingConfigSource implements MaskingConfigSource {
+
+    private static final Logger log = LoggerFactory.getLogger(FileMaskingConfigSource.class);
+
+    private final Path file;
+    private final long pollMs;
+    private final ObjectMapper objectMapper;
+    private volatile WatchService watchService;
+    private volatile Thread watcher;
+    private FileTime lastModified;
+
+    /**
+     * Конструктор {@link FileMaskingConfigSource}.
+     *
+     * @param file         Путь к файлу конфигурации.
+     * @param pollMs       Интервал периодической проверки файла в миллисекундах.
+     * @param objectMapper Объект для десериализации JSON.
+     */
+    public FileMaskingConfigSource(Path file, long pollMs, ObjectMapper objectMapper) {
+        this.file = file.toAbsolutePath();
+        this.pollMs = pollMs;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Читает файл и запускает поток отслеживания изменений.
+     *
+     * @param listener Получатель новых снимков конфигурации.
+     */
+    @Override
+    public void start(Consumer<MaskingConfigSnapshot> listener) {
+        reload(listener);
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            log.warn("Не удалось подписаться на изменения {}, используется только периодическая проверка", file, e);
+        }
+        Thread thread = new Thread(() -> watch(listener), "endpoint-logging-config-watcher");
+        thread.setDaemon(true);
+        watcher = thread;
+        thread.start();
+    }
+
+    /**
+     * Останавливает поток отслеживания и закрывает {@link WatchService}.
+     */
+    @Override
+    public void stop() {
+        Thread thread = watcher;
+        if (Objects.nonNull(thread)) {
+            thread.interrupt();
+            watcher = null;
+        }
+        WatchService service = watchService;
+        if (Objects.nonNull(service)) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                log.warn("Не удалось закрыть отслеживание изменений {}", file, e);
+            }
+            watchService = null;
+        }
+    }
+
+    /**
+     * Ожидает события файловой системы или истечения интервала проверки и перечитывает файл при изменении.
+     *
+     * @param listener Получатель новых снимков конфигурации.
+     */
+    private void watch(Consumer<MaskingConfigSnapshot> listener) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchService service = watchService;
+                if (Objects.isNull(service)) {
+                    Thread.sleep(pollMs);
+                } else {
+                    WatchKey key = service.poll(pollMs, TimeUnit.MILLISECONDS);
+                    if (Objects.nonNull(key)) {
+                        key.pollEvents();
+                        key.reset();
+                    }
+                }
+                reload(listener);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // источник остановлен
+        }
+    }
+
+    /**
+     * Перечитывает файл, если время его изменения отличается от прочитанного ранее.
+     *
+     * @param listener Получатель новых снимков конфигурации.
+     */
+    private void reload(Consumer<MaskingConfigSnapshot> listener) {
+        try {
+            if (!Files.isRegularFile(file)) {
+                return;
+            }
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            MaskingConfigSnapshot snapshot = objectMapper.readValue(file.toFile(), MaskingConfigSnapshot.class);
+            // время изменения запоминается только после успешного чтения, чтобы недописанный файл был перечитан
+            lastModified = modified;
+            listener.accept(snapshot);
+        } catch (IOException e) {
+            log.error("Не удалось прочитать конфигурацию маскировки из {}", file, e);
+        }
+    }
+}
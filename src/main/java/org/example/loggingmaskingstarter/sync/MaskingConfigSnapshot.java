@@ -0,0 +1,28 @@
+package org.example.loggingmaskingstarter.sync;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+
+import java.util.Map;
+
+/**
+ * Версионированный снимок конфигурации маскировки, распространяемый между узлами.
+ * Пример JSON: {@code {"version": 3, "maskingEnabled": true, "maskingRules": {"request.body": {"maskingType": "StarterMasker"}}}}
+ */
+@Getter
+@Setter
+public class MaskingConfigSnapshot {
+    /**
+     * Версия снимка; узлы применяют только снимки новее уже примененного.
+     */
+    private long version;
+    /**
+     * Статус маскировки (если не задан, текущий статус не меняется).
+     */
+    private Boolean maskingEnabled;
+    /**
+     * Правила маскировки.
+     */
+    private Map<String, EndpointLoggingProperties.MaskingConfig> maskingRules;
+}
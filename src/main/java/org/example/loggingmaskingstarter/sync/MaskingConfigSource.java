@@ -0,0 +1,22 @@
+package org.example.loggingmaskingstarter.sync;
+
+import java.util.function.Consumer;
+
+/**
+ * Источник конфигурации маскировки, за которым следят все узлы кластера.
+ * Для подключения собственного источника достаточно объявить бин, реализующий этот интерфейс.
+ */
+public interface MaskingConfigSource {
+    /**
+     * Запускает отслеживание источника.
+     *
+     * @param listener Получатель новых снимков конфигурации.
+     */
+    void start(Consumer<MaskingConfigSnapshot> listener);
+
+    /**
+     * Останавливает отслеживание источника и освобождает его ресурсы.
+     */
+    default void stop() {
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.loggingmaskingstarter.sync;
+
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+import org.example.loggingmaskingstarter.core.MaskingRuleRegistry;
+import org.example.loggingmaskingstarter.exception.StarterException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Применяет снимки конфигурации маскировки из всех {@link MaskingConfigSource}.
+ * Снимок сначала полностью проверяется и компилируется, затем атомарно подменяет правила;
+ * некорректный снимок отклоняется, а текущие правила остаются без изменений.
+ */
+public class MaskingConfigSynchronizer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MaskingConfigSynchronizer.class);
+
+    private final EndpointLoggingProperties properties;
+    private final MaskingRuleRegistry maskingRuleRegistry;
+    private final List<MaskingConfigSource> sources;
+    private volatile boolean running;
+
+    /**
+     * Конструктор {@link MaskingConfigSynchronizer}.
+     *
+     * @param properties          Настройки логирования и маскирования.
+     * @param maskingRuleRegistry Реестр скомпилированных правил маскировки.
+     * @param sources             Источники конфигурации.
+     */
+    public MaskingConfigSynchronizer(EndpointLoggingProperties properties, MaskingRuleRegistry maskingRuleRegistry,
+                                     List<MaskingConfigSource> sources) {
+        this.properties = properties;
+        this.maskingRuleRegistry = maskingRuleRegistry;
+        this.sources = sources;
+    }
+
+    /**
+     * Применяет снимок конфигурации, если он новее текущего.
+     *
+     * @param snapshot Снимок конфигурации.
+     */
+    public void apply(MaskingConfigSnapshot snapshot) {
+        if (Objects.isNull(snapshot)) {
+            return;
+        }
+        if (snapshot.getVersion() <= 0) {
+            log.warn("Снимок конфигурации маскировки без версии пропущен: version должна быть больше 0");
+            return;
+        }
+        try {
+            if (!maskingRuleRegistry.update(snapshot.getVersion(), snapshot.getMaskingEnabled(), snapshot.getMaskingRules())) {
+                log.warn("Снимок конфигурации маскировки версии {} пропущен: уже применена версия {}",
+                        snapshot.getVersion(), maskingRuleRegistry.version());
+                return;
+            }
+        } catch (StarterException e) {
+            log.error("Конфигурация маскировки версии {} отклонена: {}", snapshot.getVersion(), e.getMessage());
+            return;
+        }
+        // правила уже применены реестром одним снимком; свойства обновляются только для отображения через Actuator
+        properties.maskingRules(snapshot.getMaskingRules());
+        if (Objects.nonNull(snapshot.getMaskingEnabled())) {
+            properties.maskingEnabled(snapshot.getMaskingEnabled());
+        }
+        log.info("Применена конфигурация маскировки версии {}", snapshot.getVersion());
+    }
+
+    /**
+     * Запускает все источники конфигурации.
+     */
+    @Override
+    public void start() {
+        sources.forEach(source -> source.start(this::apply));
+        running = true;
+    }
+
+    /**
+     * Останавливает все источники конфигурации.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        for (MaskingConfigSource source : sources) {
+            try {
+                source.stop();
+            } catch (RuntimeException e) {
+                log.warn("Не удалось остановить источник конфигурации маскировки {}", source, e);
+            }
+        }
+    }
+
+    /**
+     * Возвращает статус синхронизации.
+     *
+     * @return boolean
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Запускается раньше контейнеров слушателей Kafka, чтобы источники начали чтение конфигурации до приема сообщений приложением.
+     *
+     * @return фаза запуска.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 200;
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.loggingmaskingstarter.benchmark;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.example.loggingmaskingstarter.kafka.KafkaLoggingListener;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Приложение для замера накладных расходов стартера.
+ * Находится в отдельном пакете, чтобы сканирование компонентов не подхватывало бины стартера:
+ * как и в приложении-потребителе, они подключаются только автоконфигурацией из
+ * {@code META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports}
+ * при {@code endpoint.logging.active=true}.
+ */
+@SpringBootApplication
+public class BenchmarkApplication {
+
+    /**
+     * Топик, который слушает {@link KafkaLoggingListener}.
+     */
+    public static final String TOPIC = "test-topic";
+    /**
+     * Заголовок с моментом отправки сообщения ({@link System#nanoTime()}).
+     */
+    public static final String SENT_NANOS_HEADER = "benchmark-sent-nanos";
+
+    /**
+     * Создает регистратор задержек обработки сообщений Kafka.
+     * @return LatencyRecorder
+     */
+    @Bean
+    public LatencyRecorder kafkaLatencyRecorder() {
+        return new LatencyRecorder();
+    }
+
+    /**
+     * Создает перехватчик, замеряющий задержку от отправки до успешной обработки сообщения слушателем.
+     * @param kafkaLatencyRecorder регистратор задержек
+     * @return RecordInterceptor
+     */
+    @Bean
+    public RecordInterceptor<Object, Object> latencyRecordInterceptor(LatencyRecorder kafkaLatencyRecorder) {
+        return new RecordInterceptor<>() {
+            @Override
+            public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+                return record;
+            }
+
+            @Override
+            public void success(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+                Header header = record.headers().lastHeader(SENT_NANOS_HEADER);
+                if (Objects.nonNull(header)) {
+                    kafkaLatencyRecorder.record(System.nanoTime() - ByteBuffer.wrap(header.value()).getLong());
+                }
+            }
+        };
+    }
+
+    /**
+     * Слушатель базовой линии: принимает сообщения без логирования, когда стартер выключен.
+     * @return BaselineListener
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "endpoint.logging", name = "active", havingValue = "false", matchIfMissing = true)
+    public BaselineListener baselineListener() {
+        return new BaselineListener();
+    }
+
+    /**
+     * Подключает {@link KafkaLoggingListener}, когда стартер включен.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "endpoint.logging", name = "active", havingValue = "true")
+    @Import(KafkaLoggingListener.class)
+    static class LoggingListenerConfiguration {
+    }
+
+    /**
+     * Слушатель Kafka, не выполняющий никакой работы.
+     */
+    public static class BaselineListener {
+
+        /**
+         * Принимает сообщение.
+         *
+         * @param record Запись Kafka.
+         */
+        @KafkaListener(topics = TOPIC)
+        public void receive(ConsumerRecord<?, String> record) {
+            // базовая линия - только доставка сообщения
+        }
+    }
+
+    /**
+     * Эндпоинт, возвращающий принятый заказ.
+     */
+    @RestController
+    public static class OrderController {
+
+        /**
+         * Возвращает принятый заказ с идентификатором из пути.
+         *
+         * @param id    Идентификатор заказа.
+         * @param order Заказ.
+         * @return Заказ.
+         */
+        @PostMapping("/orders/{id}")
+        public Order echo(@PathVariable String id, @RequestBody Order order) {
+            order.setId(id);
+            return order;
+        }
+    }
+
+    /**
+     * Тело запроса и ответа с чувствительными полями.
+     */
+    @Getter
+    @Setter
+    public static class Order {
+
+        private String id;
+        private String cardNumber;
+        private String comment;
+    }
+}
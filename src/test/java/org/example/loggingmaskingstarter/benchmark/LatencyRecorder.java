@@ -0,0 +1,56 @@
+package org.example.loggingmaskingstarter.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Потокобезопасный накопитель задержек с расчетом перцентилей.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+
+    /**
+     * Добавляет замер.
+     *
+     * @param nanos Задержка в наносекундах.
+     */
+    public synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    /**
+     * Возвращает количество замеров.
+     *
+     * @return int
+     */
+    public synchronized int count() {
+        return size;
+    }
+
+    /**
+     * Удаляет все замеры (например, после прогрева).
+     */
+    public synchronized void reset() {
+        size = 0;
+    }
+
+    /**
+     * Возвращает перцентиль задержки.
+     *
+     * @param percentile Перцентиль от 0 до 100.
+     * @return задержка в наносекундах или 0, если замеров нет.
+     */
+    public synchronized long percentile(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return sorted[Math.min(Math.max(index, 0), size - 1)];
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.loggingmaskingstarter.benchmark;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнивает пропускную способность и задержки p50/p99 HTTP- и Kafka-пути в трех режимах:
+ * логирование выключено, включено без маскировки и включено с маскировкой.
+ * В каждом режиме нагрузка повторяется для тел меньше, около и больше лимитов захвата
+ * ({@code requestBodySizeLimit}/{@code responseBodySizeLimit}, по умолчанию 1024 байта) и для разного количества заголовков.
+ * Каждый режим запускается в отдельном контексте с собственным встроенным брокером Kafka.
+ * Запуск: {@code mvn test -Dtest=LoggingOverheadBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoggingOverheadBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int WARM_UP_REQUESTS = 1_000;
+    private static final int MEASURED_REQUESTS = 5_000;
+    private static final int WARM_UP_MESSAGES = 1_000;
+    private static final int MEASURED_MESSAGES = 5_000;
+    private static final List<Integer> BODY_SIZES = List.of(256, 1_000, 8_192);
+    private static final List<Integer> HEADER_COUNTS = List.of(0, 30);
+    private static final String ORDER_JSON_PREFIX = "{\"cardNumber\":\"4111111111111111\",\"comment\":\"password=secret, token=abc123 ";
+    private static final String ORDER_JSON_SUFFIX = "\"}";
+
+    private static final Map<String, String[]> MODES = Map.of(
+            "off", new String[]{"endpoint.logging.active=false"},
+            "on", new String[]{"endpoint.logging.active=true", "endpoint.logging.masking-enabled=false"},
+            "on-with-masking", new String[]{"endpoint.logging.active=true", "endpoint.logging.masking-enabled=true",
+                    "endpoint.logging.masking-rules[request.headers.Authorization].masking-type=RegexMasker",
+                    "endpoint.logging.masking-rules[request.headers.Authorization].pattern=(?<=Bearer ).+",
+                    "endpoint.logging.masking-rules[request.body].masking-type=RegexMasker",
+                    "endpoint.logging.masking-rules[response.body].masking-type=RegexMasker",
+                    "endpoint.logging.masking-rules[kafka.message].masking-type=StarterMasker"});
+
+    @Test
+    void compareModes() throws Exception {
+        List<String> results = new ArrayList<>();
+        for (String mode : List.of("off", "on", "on-with-masking")) {
+            EmbeddedKafkaBroker broker = new EmbeddedKafkaKraftBroker(1, 1, BenchmarkApplication.TOPIC);
+            broker.afterPropertiesSet();
+            try (ConfigurableApplicationContext context = start(broker, MODES.get(mode))) {
+                for (int bodySize : BODY_SIZES) {
+                    for (int headerCount : HEADER_COUNTS) {
+                        String load = String.format("body=%5dB headers=%2d", bodySize, headerCount);
+                        results.add(String.format("%-16s HTTP  %s %s", mode, load,
+                                benchmarkHttp(context, orderJson(bodySize), headerCount)));
+                        results.add(String.format("%-16s Kafka %s %s", mode, load,
+                                benchmarkKafka(context, broker, orderJson(bodySize), headerCount)));
+                    }
+                }
+            } finally {
+                broker.destroy();
+            }
+        }
+        results.forEach(System.out::println);
+    }
+
+    /**
+     * Запускает приложение в заданном режиме.
+     *
+     * @param broker     Встроенный брокер Kafka.
+     * @param properties Свойства режима.
+     * @return контекст приложения.
+     */
+    private ConfigurableApplicationContext start(EmbeddedKafkaBroker broker, String[] properties) {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .properties("server.port=0",
+                        "spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                        "spring.kafka.consumer.group-id=benchmark",
+                        "spring.kafka.consumer.auto-offset-reset=earliest")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Формирует JSON заказа заданного размера в байтах.
+     *
+     * @param size Размер тела.
+     * @return JSON заказа.
+     */
+    private static String orderJson(int size) {
+        int padding = size - ORDER_JSON_PREFIX.length() - ORDER_JSON_SUFFIX.length();
+        String json = ORDER_JSON_PREFIX + "x".repeat(Math.max(padding, 0)) + ORDER_JSON_SUFFIX;
+        assertThat(json.getBytes(StandardCharsets.UTF_8)).hasSize(size);
+        return json;
+    }
+
+    /**
+     * Нагружает HTTP-эндпоинт из нескольких потоков.
+     *
+     * @param context     Контекст приложения.
+     * @param body        Тело запроса.
+     * @param headerCount Количество дополнительных заголовков.
+     * @return строка с пропускной способностью и перцентилями.
+     * @throws Exception в случае ошибки.
+     */
+    private String benchmarkHttp(ConfigurableApplicationContext context, String body, int headerCount) throws Exception {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/orders/42"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer 0123456789abcdef")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        for (int i = 0; i < headerCount; i++) {
+            builder.header("X-Benchmark-" + i, "value-" + i);
+        }
+        HttpRequest request = builder.build();
+        LatencyRecorder recorder = new LatencyRecorder();
+        sendHttp(client, request, WARM_UP_REQUESTS, recorder);
+        recorder.reset();
+        long start = System.nanoTime();
+        sendHttp(client, request, MEASURED_REQUESTS, recorder);
+        return summary(recorder, System.nanoTime() - start);
+    }
+
+    /**
+     * Отправляет запросы из {@link #THREADS} потоков и записывает задержку каждого.
+     *
+     * @param client   HTTP-клиент.
+     * @param request  Запрос.
+     * @param total    Общее количество запросов.
+     * @param recorder Накопитель задержек.
+     * @throws Exception в случае ошибки.
+     */
+    private void sendHttp(HttpClient client, HttpRequest request, int total, LatencyRecorder recorder) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < total / THREADS; i++) {
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        recorder.record(System.nanoTime() - sent);
+                        assertThat(response.statusCode()).isEqualTo(200);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Публикует сообщения в топик и ждет их обработки слушателем.
+     *
+     * @param context     Контекст приложения.
+     * @param broker      Встроенный брокер Kafka.
+     * @param message     Сообщение.
+     * @param headerCount Количество дополнительных заголовков.
+     * @return строка с пропускной способностью и перцентилями.
+     * @throws Exception в случае ошибки.
+     */
+    private String benchmarkKafka(ConfigurableApplicationContext context, EmbeddedKafkaBroker broker,
+                                  String message, int headerCount) throws Exception {
+        LatencyRecorder recorder = context.getBean("kafkaLatencyRecorder", LatencyRecorder.class);
+        try (KafkaProducer<String, String> producer = new KafkaProducer<>(Map.<String, Object>of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class))) {
+            sendKafka(producer, message, headerCount, WARM_UP_MESSAGES, recorder);
+            recorder.reset();
+            long start = System.nanoTime();
+            sendKafka(producer, message, headerCount, MEASURED_MESSAGES, recorder);
+            return summary(recorder, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Публикует сообщения с моментом отправки в заголовке и ждет, пока слушатель обработает их все.
+     *
+     * @param producer    Продюсер Kafka.
+     * @param message     Сообщение.
+     * @param headerCount Количество дополнительных заголовков.
+     * @param total       Количество сообщений.
+     * @param recorder    Накопитель задержек, заполняемый перехватчиком слушателя.
+     * @throws InterruptedException если ожидание прервано.
+     */
+    private void sendKafka(KafkaProducer<String, String> producer, String message, int headerCount, int total,
+                           LatencyRecorder recorder) throws InterruptedException {
+        for (int i = 0; i < total; i++) {
+            ProducerRecord<String, String> record = new ProducerRecord<>(BenchmarkApplication.TOPIC, message);
+            for (int h = 0; h < headerCount; h++) {
+                record.headers().add("X-Benchmark-" + h, ("value-" + h).getBytes(StandardCharsets.UTF_8));
+            }
+            record.headers().add(BenchmarkApplication.SENT_NANOS_HEADER,
+                    ByteBuffer.allocate(Long.BYTES).putLong(System.nanoTime()).array());
+            producer.send(record);
+        }
+        producer.flush();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (recorder.count() < total) {
+            assertThat(System.nanoTime()).as("слушатель не обработал все сообщения").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Формирует строку результата.
+     *
+     * @param recorder     Накопитель задержек.
+     * @param elapsedNanos Длительность замера.
+     * @return строка с пропускной способностью и перцентилями.
+     */
+    private String summary(LatencyRecorder recorder, long elapsedNanos) {
+        double throughput = recorder.count() / (elapsedNanos / 1_000_000_000.0);
+        return String.format("throughput=%.0f/s p50=%.3f ms p99=%.3f ms", throughput,
+                recorder.percentile(50) / 1_000_000.0, recorder.percentile(99) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.loggingmaskingstarter.core;
+
+import jakarta.servlet.FilterChain;
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BodyCaptureFilterTest {
+
+    private final BodyCaptureFilter filter = new BodyCaptureFilter(new EndpointLoggingProperties().active(true));
+
+    @Test
+    void writerOutputIsFlushedAfterSynchronousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> res.getWriter().write("{\"id\":1}");
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void writerOutputIsFlushedWhenAsyncRequestCompletes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            req.startAsync(req, res);
+            res.getWriter().write("{\"id\":1}");
+        };
+
+        filter.doFilter(request, response, chain);
+        assertThat(response.getContentAsString()).isEmpty();
+
+        request.getAsyncContext().complete();
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.loggingmaskingstarter.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedBodyCaptureTest {
+
+    @Test
+    void bodyWithinLimitIsCapturedWhole() {
+        BoundedBodyCapture capture = new BoundedBodyCapture(16);
+
+        write(capture, "{\"id\":1}");
+
+        assertThat(capture.asString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void bodyExactlyAtLimitIsNotMarkedTruncated() {
+        BoundedBodyCapture capture = new BoundedBodyCapture(4);
+
+        write(capture, "abcd");
+
+        assertThat(capture.asString(StandardCharsets.UTF_8)).isEqualTo("abcd");
+    }
+
+    @Test
+    void arrayWriteOverLimitIsTruncated() {
+        BoundedBodyCapture capture = new BoundedBodyCapture(4);
+
+        write(capture, "abcdef");
+
+        assertThat(capture.asString(StandardCharsets.UTF_8)).isEqualTo("abcd... (truncated)");
+    }
+
+    @Test
+    void singleByteWritesOverLimitAreTruncated() {
+        BoundedBodyCapture capture = new BoundedBodyCapture(3);
+
+        for (byte b : "abcdef".getBytes(StandardCharsets.UTF_8)) {
+            capture.write(b);
+        }
+
+        assertThat(capture.asString(StandardCharsets.UTF_8)).isEqualTo("abc... (truncated)");
+    }
+
+    @Test
+    void chunksCrossingLimitKeepOnlyPrefix() {
+        BoundedBodyCapture capture = new BoundedBodyCapture(300);
+        byte[] chunk = "0123456789".repeat(20).getBytes(StandardCharsets.UTF_8);
+
+        capture.write(chunk, 0, chunk.length);
+        capture.write(chunk, 0, chunk.length);
+        capture.write(chunk, 0, chunk.length);
+
+        String body = capture.asString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("... (truncated)");
+        assertThat(body.substring(0, body.length() - "... (truncated)".length()))
+                .hasSize(300)
+                .isEqualTo("0123456789".repeat(30));
+    }
+
+    @Test
+    void zeroLimitCapturesNothing() {
+        BoundedBodyCapture capture = new BoundedBodyCapture(0);
+
+        write(capture, "abc");
+
+        assertThat(capture.asString(StandardCharsets.UTF_8)).isEqualTo("... (truncated)");
+    }
+
+    private static void write(BoundedBodyCapture capture, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        capture.write(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.loggingmaskingstarter.core;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogAggregatorTest {
+
+    /**
+     * Окно длиннее любого теста: агрегаты выводятся только явным вызовом {@link LogAggregator#flush()}.
+     */
+    private static final long WINDOW_MS = TimeUnit.HOURS.toMillis(1);
+    private static final LogFingerprint FINGERPRINT = new LogFingerprint("http", "GET", "/orders/{id}", 200, 0);
+
+    private final Logger aggregatorLogger = (Logger) LoggerFactory.getLogger(LogAggregator.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        aggregatorLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        aggregatorLogger.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Test
+    void disabledAggregatorLogsEveryRecord() {
+        LogAggregator aggregator = new LogAggregator(0);
+
+        assertThat(aggregator.record(FINGERPRINT, "GET /orders/1", 1)).isTrue();
+        assertThat(aggregator.record(FINGERPRINT, "GET /orders/1", 1)).isTrue();
+    }
+
+    @Test
+    void repeatsWithinWindowAreCountedAndFlushed() {
+        LogAggregator aggregator = new LogAggregator(WINDOW_MS);
+        try {
+            assertThat(aggregator.record(FINGERPRINT, "GET /orders/1", 1_000_000)).isTrue();
+            assertThat(aggregator.record(FINGERPRINT, "GET /orders/1", 3_000_000)).isFalse();
+            assertThat(aggregator.record(FINGERPRINT, "GET /orders/1", 2_000_000)).isFalse();
+
+            aggregator.flush();
+
+            assertThat(appender.list).hasSize(1);
+            assertThat(appender.list.get(0).getArgumentArray()).containsExactly(3L, "GET /orders/1", 1L, 3L, 2L);
+            assertThat(aggregator.record(FINGERPRINT, "GET /orders/1", 1)).isTrue();
+        } finally {
+            aggregator.destroy();
+        }
+    }
+
+    @Test
+    void concurrentRecordAndFlushLoseNoRecords() throws Exception {
+        int threads = 8;
+        int recordsPerThread = 20_000;
+        LogAggregator aggregator = new LogAggregator(WINDOW_MS);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        AtomicBoolean recording = new AtomicBoolean(true);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            List<Future<Long>> recorders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                recorders.add(executor.submit(() -> {
+                    startLatch.await();
+                    long logged = 0;
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        if (aggregator.record(FINGERPRINT, "GET /orders/1", i)) {
+                            logged++;
+                        }
+                    }
+                    return logged;
+                }));
+            }
+            Future<?> flusher = executor.submit(() -> {
+                startLatch.await();
+                while (recording.get()) {
+                    aggregator.flush();
+                }
+                return null;
+            });
+            startLatch.countDown();
+            long loggedFirst = 0;
+            for (Future<Long> recorder : recorders) {
+                loggedFirst += recorder.get();
+            }
+            recording.set(false);
+            flusher.get();
+            aggregator.flush();
+
+            // каждое окно начинается записью, вернувшей true; повторы окна выводятся одной агрегированной записью
+            long aggregatedWindows = appender.list.size();
+            long aggregatedRecords = appender.list.stream()
+                    .mapToLong(event -> (Long) event.getArgumentArray()[0])
+                    .sum();
+            long singleRecordWindows = loggedFirst - aggregatedWindows;
+            assertThat(aggregatedRecords + singleRecordWindows).isEqualTo((long) threads * recordsPerThread);
+        } finally {
+            executor.shutdownNow();
+            aggregator.destroy();
+        }
+    }
+}
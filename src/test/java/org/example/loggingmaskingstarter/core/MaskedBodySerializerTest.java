@@ -0,0 +1,48 @@
+package org.example.loggingmaskingstarter.core;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MaskedBodySerializerTest {
+
+    @Test
+    void asyncWrappersAreUnwrappedToTheirResultType() throws Exception {
+        assertThat(MaskedBodySerializer.asyncResultType(returnType("deferred"))).isEqualTo(returnType("plain"));
+        assertThat(MaskedBodySerializer.asyncResultType(returnType("callable"))).isEqualTo(returnType("plain"));
+        assertThat(MaskedBodySerializer.asyncResultType(returnType("task"))).isEqualTo(returnType("plain"));
+        assertThat(MaskedBodySerializer.asyncResultType(returnType("future"))).isEqualTo(returnType("entity"));
+    }
+
+    @Test
+    void synchronousReturnTypeIsKept() throws Exception {
+        assertThat(MaskedBodySerializer.asyncResultType(returnType("entity"))).isEqualTo(returnType("entity"));
+    }
+
+    private static Type returnType(String method) throws NoSuchMethodException {
+        return Handlers.class.getDeclaredMethod(method).getGenericReturnType();
+    }
+
+    @SuppressWarnings("unused")
+    private interface Handlers {
+        List<String> plain();
+
+        ResponseEntity<List<String>> entity();
+
+        DeferredResult<List<String>> deferred();
+
+        Callable<List<String>> callable();
+
+        WebAsyncTask<List<String>> task();
+
+        CompletableFuture<ResponseEntity<List<String>>> future();
+    }
+}
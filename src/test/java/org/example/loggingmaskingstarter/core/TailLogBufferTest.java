@@ -0,0 +1,87 @@
+package org.example.loggingmaskingstarter.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailLogBufferTest {
+
+    @Test
+    void wrapAroundKeepsNewestEntriesInOrder() {
+        TailLogBuffer buffer = new TailLogBuffer(3);
+
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(httpLog("/orders/" + i));
+        }
+
+        assertThat(buffer.drain()).extracting(HttpLog::getUriEndpoint)
+                .containsExactly("/orders/3", "/orders/4", "/orders/5");
+        assertThat(buffer.drain()).isEmpty();
+    }
+
+    @Test
+    void addAfterDrainStartsFromEmptyStripe() {
+        TailLogBuffer buffer = new TailLogBuffer(2);
+        buffer.add(httpLog("/orders/1"));
+        buffer.add(httpLog("/orders/2"));
+        buffer.add(httpLog("/orders/3"));
+        buffer.drain();
+
+        buffer.add(httpLog("/orders/4"));
+
+        assertThat(buffer.drain()).extracting(HttpLog::getUriEndpoint).containsExactly("/orders/4");
+    }
+
+    @Test
+    void zeroCapacityDisablesBuffering() {
+        TailLogBuffer buffer = new TailLogBuffer(0);
+
+        buffer.add(httpLog("/orders/1"));
+
+        assertThat(buffer.drain()).isEmpty();
+    }
+
+    @Test
+    void concurrentAddAndDrainNeverExceedCapacity() throws Exception {
+        int capacity = 4;
+        int threads = 16;
+        TailLogBuffer buffer = new TailLogBuffer(capacity);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        buffer.add(httpLog("/orders/" + i));
+                        if (i % 7 == 0) {
+                            List<HttpLog> drained = buffer.drain();
+                            assertThat(drained).hasSizeLessThanOrEqualTo(capacity).doesNotContainNull();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static HttpLog httpLog(String uri) {
+        HttpLog httpLog = new HttpLog();
+        httpLog.setUriEndpoint(uri);
+        return httpLog;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.loggingmaskingstarter.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceContextTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    void validTraceparentIsParsed() {
+        TraceContext context = TraceContext.parse(TRACEPARENT, null);
+
+        assertThat(context.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(context.getSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(context.getCorrelationId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+    }
+
+    @Test
+    void invalidTraceparentIsIgnored() {
+        assertThat(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01", "c").getTraceId()).isNull();
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e473z-00f067aa0ba902b7-01", "c").getTraceId()).isNull();
+        assertThat(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01", "c").getTraceId()).isNull();
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01", "c").getTraceId()).isNull();
+        assertThat(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", "c").getTraceId()).isNull();
+        assertThat(TraceContext.parse(TRACEPARENT + "-extra", "c").getTraceId()).isNull();
+    }
+
+    @Test
+    void futureVersionMayCarryExtraFields() {
+        assertThat(TraceContext.parse("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra", null).getTraceId())
+                .isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+    }
+
+    @Test
+    void currentSpanIsPreferredOverHeader() {
+        TraceContextResolver resolver = new TraceContextResolver(
+                () -> new TraceContext("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331", null));
+
+        TraceContext context = resolver.resolve(Map.of(TraceContext.TRACEPARENT_HEADER, TRACEPARENT)::get);
+
+        assertThat(context.getTraceId()).isEqualTo("0af7651916cd43dd8448eb211c80319c");
+        assertThat(context.getSpanId()).isEqualTo("b7ad6b7169203331");
+    }
+
+    @Test
+    void headerIsUsedWithoutCurrentSpan() {
+        TraceContextResolver resolver = new TraceContextResolver(() -> null);
+
+        TraceContext context = resolver.resolve(Map.of(TraceContext.TRACEPARENT_HEADER, TRACEPARENT,
+                TraceContext.CORRELATION_ID_HEADER, "order-42")::get);
+
+        assertThat(context.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(context.getCorrelationId()).isEqualTo("order-42");
+    }
+}
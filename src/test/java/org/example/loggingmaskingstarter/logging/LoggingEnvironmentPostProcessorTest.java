@@ -0,0 +1,75 @@
+package org.example.loggingmaskingstarter.logging;
+
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+import org.example.loggingmaskingstarter.exception.StarterException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoggingEnvironmentPostProcessorTest {
+
+    private final LoggingEnvironmentPostProcessor postProcessor = new LoggingEnvironmentPostProcessor();
+
+    @Test
+    void bracketedKeysBindWithFullPath() {
+        StandardEnvironment environment = environment(Map.of(
+                "endpoint.logging.masking-rules[request.body].masking-type", "StarterMasker",
+                "endpoint.logging.masking-rules[request.headers.Authorization].masking-type", "RegexMasker",
+                "endpoint.logging.masking-rules[request.headers.Authorization].pattern", "(?<=Bearer ).+"));
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        Map<String, EndpointLoggingProperties.MaskingConfig> rules = Binder.get(environment)
+                .bind("endpoint.logging.masking-rules", Bindable.mapOf(String.class, EndpointLoggingProperties.MaskingConfig.class))
+                .get();
+        assertThat(rules).containsOnlyKeys("request.body", "request.headers.Authorization");
+        assertThat(rules.get("request.headers.Authorization").pattern()).isEqualTo("(?<=Bearer ).+");
+    }
+
+    @Test
+    void unbracketedKeyIsRejectedInsteadOfSilentlyDropped() {
+        StandardEnvironment environment = environment(Map.of(
+                "endpoint.logging.masking-rules.request.body.masking-type", "StarterMasker"));
+
+        assertThat(Binder.get(environment)
+                .bind("endpoint.logging.masking-rules", Bindable.mapOf(String.class, EndpointLoggingProperties.MaskingConfig.class))
+                .orElse(Map.of()))
+                .doesNotContainKey("request.body");
+        assertThatThrownBy(() -> postProcessor.postProcessEnvironment(environment, new SpringApplication()))
+                .isInstanceOf(StarterException.class)
+                .hasMessageContaining("endpoint.logging.masking-rules.request.body.masking-type");
+    }
+
+    @Test
+    void unknownRuleFieldIsRejected() {
+        StandardEnvironment environment = environment(Map.of(
+                "endpoint.logging.masking-rules[request.body].masking-typo", "StarterMasker"));
+
+        assertThatThrownBy(() -> postProcessor.postProcessEnvironment(environment, new SpringApplication()))
+                .isInstanceOf(StarterException.class);
+    }
+
+    @Test
+    void invalidPathInsideBracketsIsRejected() {
+        StandardEnvironment environment = environment(Map.of(
+                "endpoint.logging.masking-rules[request.payload].masking-type", "StarterMasker"));
+
+        assertThatThrownBy(() -> postProcessor.postProcessEnvironment(environment, new SpringApplication()))
+                .isInstanceOf(StarterException.class)
+                .hasMessageContaining("request.payload");
+    }
+
+    private static StandardEnvironment environment(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        return environment;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.loggingmaskingstarter.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+import org.example.loggingmaskingstarter.core.LoggingInterceptor;
+import org.example.loggingmaskingstarter.core.MaskingRuleRegistry;
+import org.example.loggingmaskingstarter.core.RegexMasker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MaskingMessageConverterTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final MaskingMessageConverter converter = new MaskingMessageConverter();
+    private LogMessageMasking masking;
+
+    @BeforeEach
+    void installMasking() {
+        EndpointLoggingProperties.MaskingConfig config = new EndpointLoggingProperties.MaskingConfig();
+        config.setMaskingType("RegexMasker");
+        MaskingRuleRegistry registry = new MaskingRuleRegistry(Map.of("RegexMasker", new RegexMasker()),
+                Map.of("log.message", config), true);
+        masking = new LogMessageMasking(registry, List.of("card"));
+        LogMessageMasking.install(masking);
+    }
+
+    @AfterEach
+    void uninstallMasking() {
+        masking.destroy();
+    }
+
+    @Test
+    void applicationLoggerMessageIsMasked() {
+        assertThat(converter.convert(event("com.example.PaymentService", "card 4111111111111111")))
+                .isEqualTo("card ************1111");
+    }
+
+    @Test
+    void starterLoggerMessageIsLeftIntact() {
+        String message = "Лог HTTP handlerTime=123456 traceId=4bf92f3577b34da6a3ce929d0e0e4736";
+
+        assertThat(converter.convert(event(LoggingInterceptor.class.getName(), message))).isEqualTo(message);
+    }
+
+    private LoggingEvent event(String loggerName, String message) {
+        return new LoggingEvent(loggerName, loggerContext.getLogger(loggerName), Level.INFO, message, null, null);
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.loggingmaskingstarter.sync;
+
+import org.example.loggingmaskingstarter.config.EndpointLoggingProperties;
+import org.example.loggingmaskingstarter.core.MaskingRuleRegistry;
+import org.example.loggingmaskingstarter.core.MaskingRules;
+import org.example.loggingmaskingstarter.core.StarterMasker;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MaskingConfigSynchronizerTest {
+
+    private final EndpointLoggingProperties properties = new EndpointLoggingProperties();
+    private final MaskingRuleRegistry registry = new MaskingRuleRegistry(Map.of("StarterMasker", new StarterMasker()), Map.of(), false);
+    private final MaskingConfigSynchronizer synchronizer = new MaskingConfigSynchronizer(properties, registry, List.of());
+
+    @Test
+    void maskingEnabledIsSwappedTogetherWithRules() {
+        synchronizer.apply(snapshot(1, true));
+
+        MaskingRules rules = registry.current();
+        assertThat(rules.maskingEnabled()).isTrue();
+        assertThat(rules.requestBody()).isNotNull();
+        assertThat(registry.version()).isEqualTo(1);
+    }
+
+    @Test
+    void staleAndUnversionedSnapshotsAreDropped() {
+        synchronizer.apply(snapshot(2, true));
+        MaskingRules applied = registry.current();
+
+        synchronizer.apply(snapshot(1, false));
+        synchronizer.apply(snapshot(0, false));
+
+        assertThat(registry.current()).isSameAs(applied);
+        assertThat(registry.version()).isEqualTo(2);
+    }
+
+    @Test
+    void snapshotWithoutMaskingEnabledKeepsCurrentStatus() {
+        synchronizer.apply(snapshot(1, true));
+        synchronizer.apply(snapshot(2, null));
+
+        assertThat(registry.current().maskingEnabled()).isTrue();
+    }
+
+    private static MaskingConfigSnapshot snapshot(long version, Boolean maskingEnabled) {
+        EndpointLoggingProperties.MaskingConfig config = new EndpointLoggingProperties.MaskingConfig();
+        config.setMaskingType("StarterMasker");
+        MaskingConfigSnapshot snapshot = new MaskingConfigSnapshot();
+        snapshot.setVersion(version);
+        snapshot.setMaskingEnabled(maskingEnabled);
+        snapshot.setMaskingRules(Map.of("request.body", config));
+        return snapshot;
+    }
+}